@@ -1,11 +1,16 @@
 package com.ead.course;
 
+import com.ead.course.repositories.KeysetJpaRepository;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.netflix.eureka.EnableEurekaClient;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableEurekaClient
+@EnableScheduling
+@EnableJpaRepositories(repositoryBaseClass = KeysetJpaRepository.class)
 public class CourseApplication {
 
     public static void main(String[] args) {
@@ -1,23 +1,40 @@
 package com.ead.course.clients;
 
+import com.ead.course.configs.CacheConfig;
 import com.ead.course.dtos.CourseUserDto;
 import com.ead.course.dtos.ResponsePageDto;
 import com.ead.course.dtos.UserDto;
 import com.ead.course.services.UtilsService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * Client of the AuthUser service on top of the pooled, load balanced WebClient (see WebClientConfig).
+ * Every method blocks the calling thread on the response: the service is servlet based and its callers are
+ * synchronous, only the connections are pooled and each call is bounded by the pool and response timeouts.
+ * Callers that need several users at once run the calls concurrently themselves (see
+ * UserService.findOrFetchAllByIds).
+ * Each operation has its own circuit breaker and bulkhead (resilience4j in application.yaml), notifications
+ * have no fallback since the outbox retries them.
+ */
 @Log4j2
 @Component
 public class AuthUserClient {
@@ -26,47 +43,97 @@ public class AuthUserClient {
     private String REQUEST_URL_AUTHUSER;
 
     private final UtilsService utilsService;
-    private final RestTemplate restTemplate;
+    private final WebClient webClient;
+    private final Cache<String, ResponsePageDto<UserDto>> lastUsersByCourse = Caffeine.newBuilder().maximumSize(1000).build();
 
-    public AuthUserClient(UtilsService utilsService, RestTemplate restTemplate) {
+    public AuthUserClient(UtilsService utilsService, WebClient.Builder webClientBuilder) {
         this.utilsService = utilsService;
-        this.restTemplate = restTemplate;
+        this.webClient = webClientBuilder.build();
     }
 
+    @CircuitBreaker(name = "authuserUsersByCourse", fallbackMethod = "getAllUsersByCourseFallback")
+    @Bulkhead(name = "authuserUsersByCourse")
     public Page<UserDto> getAllUsersByCourse(UUID courseId, Pageable pageable) {
-        List<UserDto> fetchResult = null;
-        ResponseEntity<ResponsePageDto<UserDto>> result = null;
         String url = REQUEST_URL_AUTHUSER + utilsService.createUrlGetAllUsersByCourse(courseId, pageable);
 
         log.debug("Request URL: {}", url);
-        log.info("Request URL: {}", url);
-        try {
-            ParameterizedTypeReference<ResponsePageDto<UserDto>> responseType = new ParameterizedTypeReference<>(){};
-            result = restTemplate.exchange(url, HttpMethod.GET, null, responseType);
-            fetchResult = result.getBody().getContent();
-            log.debug("Response Number of elements: {}", fetchResult.size());
-        } catch (HttpStatusCodeException e) {
-            log.error("Error request /api/v1/users {}", e);
+        ParameterizedTypeReference<ResponsePageDto<UserDto>> responseType = new ParameterizedTypeReference<>(){};
+        ResponsePageDto<UserDto> result = webClient.get().uri(url).retrieve().bodyToMono(responseType).block();
+        if (result == null) {
+            throw new IllegalStateException("Empty response from /api/v1/users courseId " + courseId);
         }
+        log.debug("Response Number of elements: {}", result.getContent().size());
+
+        lastUsersByCourse.put(url, result);
         log.info("Ending request /api/v1/users courseId {}", courseId);
-        return result.getBody();
+        return result;
+    }
+
+    /**
+     * Serves the last page received for the same request, or an empty page, when AuthUser fails,
+     * is unreachable or the circuit is open. Client errors answered by AuthUser (4xx) reach the caller
+     * untouched, the request would be rejected again.
+     */
+    private Page<UserDto> getAllUsersByCourseFallback(UUID courseId, Pageable pageable, Throwable e) {
+        if (e instanceof WebClientResponseException && ((WebClientResponseException) e).getStatusCode().is4xxClientError()) {
+            throw (WebClientResponseException) e;
+        }
+        log.error("Error request /api/v1/users courseId {} - {}", courseId, e.toString());
+        ResponsePageDto<UserDto> lastResult = lastUsersByCourse.getIfPresent(REQUEST_URL_AUTHUSER + utilsService.createUrlGetAllUsersByCourse(courseId, pageable));
+        return lastResult != null ? lastResult : new ResponsePageDto<>(List.of(), pageable, 0);
     }
 
+    /**
+     * Cached per user for a short time, only userType and userStatus are read from the response
+     * and both change rarely. Errors (e.g. user not found) are never cached.
+     *
+     * @param userId the user id
+     * @return the user returned by the AuthUser service
+     */
+    @Cacheable(cacheNames = CacheConfig.USERS_CACHE, key = "#userId")
+    @CircuitBreaker(name = "authuserUserById", fallbackMethod = "getOneUserByIdFallback")
+    @Bulkhead(name = "authuserUserById")
     public ResponseEntity<UserDto> getOneUserById(UUID userId) {
         String url = REQUEST_URL_AUTHUSER + "/api/v1/users/" + userId;
-        return restTemplate.exchange(url, HttpMethod.GET, null, UserDto.class);
+        return webClient.get().uri(url).retrieve().toEntity(UserDto.class).block();
+    }
+
+    /**
+     * HTTP errors answered by AuthUser (e.g. 404) reach the caller untouched, any other failure
+     * (timeout, open circuit, full bulkhead) becomes a 503.
+     */
+    private ResponseEntity<UserDto> getOneUserByIdFallback(UUID userId, Throwable e) {
+        if (e instanceof WebClientResponseException) {
+            throw (WebClientResponseException) e;
+        }
+        log.error("Error request /api/v1/users/{} - {}", userId, e.toString());
+        throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "AuthUser service unavailable", e);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.USERS_CACHE, key = "#userId")
+    public void evictUserById(UUID userId) {
+        log.debug("User {} evicted from cache", userId);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.USERS_CACHE, allEntries = true)
+    public void evictAllUsers() {
+        log.debug("All users evicted from cache");
     }
 
+    @CircuitBreaker(name = "authuserSubscription")
+    @Bulkhead(name = "authuserSubscription")
     public void postSubscriptionUserInCourse(UUID courseId, UUID userId) {
         String url = REQUEST_URL_AUTHUSER + "/api/v1/users/" + userId + "/courses/subscription";
         CourseUserDto request = new CourseUserDto();
         request.setUserId(userId);
         request.setCourseId(courseId);
-        restTemplate.postForObject(url, request, String.class);
+        webClient.post().uri(url).bodyValue(request).retrieve().toBodilessEntity().block();
     }
 
+    @CircuitBreaker(name = "authuserDeleteCourse")
+    @Bulkhead(name = "authuserDeleteCourse")
     public void deleteCourseInAuthUser(UUID courseId) {
         String url = REQUEST_URL_AUTHUSER + "/api/v1/users/courses/" + courseId;
-        restTemplate.exchange(url, HttpMethod.DELETE, null, String.class);
+        webClient.delete().uri(url).retrieve().toBodilessEntity().block();
     }
 }
@@ -0,0 +1,31 @@
+package com.ead.course.configs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 10)
+@Configuration
+public class CacheConfig {
+
+    public static final String USERS_CACHE = "users";
+
+    /**
+     * The caching advice runs before the circuit breaker and bulkhead advices (see AuthUserClient),
+     * so cached users are still served while the AuthUser circuit is open.
+     *
+     * Cache names are registered up front so the actuator binds their hit, miss and eviction
+     * metrics at startup (cache.gets, cache.evictions).
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${ead.cache.users.spec}") String usersSpec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(USERS_CACHE);
+        cacheManager.setCacheSpecification(usersSpec);
+        cacheManager.setAllowNullValues(false);
+        return cacheManager;
+    }
+}
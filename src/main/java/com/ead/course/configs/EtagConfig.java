@@ -0,0 +1,29 @@
+package com.ead.course.configs;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import javax.servlet.http.HttpServletRequest;
+
+@Configuration
+public class EtagConfig {
+
+    /**
+     * ETag computed from the response body of the course tree, a matching If-None-Match
+     * gets a 304 without the body being sent.
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> courseTreeEtagFilter() {
+        ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter() {
+            @Override
+            protected boolean shouldNotFilter(HttpServletRequest request) {
+                return !request.getRequestURI().endsWith("/tree");
+            }
+        };
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/v1/courses/*");
+        return registration;
+    }
+}
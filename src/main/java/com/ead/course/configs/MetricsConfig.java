@@ -0,0 +1,32 @@
+package com.ead.course.configs;
+
+import com.ead.course.metrics.EntityLoadInterceptor;
+import com.ead.course.metrics.QueryCountHandlerInterceptor;
+import com.ead.course.metrics.QueryCountStatementInspector;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.handler.MappedInterceptor;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountHibernateCustomizer(QueryCountStatementInspector statementInspector,
+                                                                       EntityLoadInterceptor entityLoadInterceptor) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, statementInspector);
+            hibernateProperties.put(AvailableSettings.INTERCEPTOR, entityLoadInterceptor);
+        };
+    }
+
+    /**
+     * ResolverConfig extends WebMvcConfigurationSupport, so interceptors are registered as MappedInterceptor
+     * beans, which every handler mapping detects.
+     */
+    @Bean
+    public MappedInterceptor queryCountMappedInterceptor(QueryCountHandlerInterceptor queryCountHandlerInterceptor) {
+        return new MappedInterceptor(new String[]{"/api/**"}, queryCountHandlerInterceptor);
+    }
+}
@@ -0,0 +1,45 @@
+package com.ead.course.configs;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.core.registry.EntryAddedEvent;
+import io.github.resilience4j.core.registry.EntryRemovedEvent;
+import io.github.resilience4j.core.registry.EntryReplacedEvent;
+import io.github.resilience4j.core.registry.RegistryEventConsumer;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Log4j2
+@Configuration
+public class ResilienceConfig {
+
+    /**
+     * The state of each circuit breaker is already exported (resilience4j.circuitbreaker.state),
+     * this adds a counter and a log line for every transition.
+     */
+    @Bean
+    public RegistryEventConsumer<CircuitBreaker> circuitBreakerTransitionConsumer(MeterRegistry meterRegistry) {
+        return new RegistryEventConsumer<>() {
+            @Override
+            public void onEntryAddedEvent(EntryAddedEvent<CircuitBreaker> entryAddedEvent) {
+                CircuitBreaker circuitBreaker = entryAddedEvent.getAddedEntry();
+                circuitBreaker.getEventPublisher().onStateTransition(event -> {
+                    log.warn("Circuit breaker {} transition {}", event.getCircuitBreakerName(), event.getStateTransition());
+                    meterRegistry.counter("resilience4j.circuitbreaker.transitions",
+                            "name", event.getCircuitBreakerName(),
+                            "from", event.getStateTransition().getFromState().name(),
+                            "to", event.getStateTransition().getToState().name()).increment();
+                });
+            }
+
+            @Override
+            public void onEntryRemovedEvent(EntryRemovedEvent<CircuitBreaker> entryRemoveEvent) {
+            }
+
+            @Override
+            public void onEntryReplacedEvent(EntryReplacedEvent<CircuitBreaker> entryReplacedEvent) {
+            }
+        };
+    }
+}
@@ -1,23 +1,40 @@
 package com.ead.course.configs;
 
 import net.kaczmarzyk.spring.data.jpa.web.SpecificationArgumentResolver;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.SortHandlerMethodArgumentResolver;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurationSupport;
 
+import java.time.Duration;
 import java.util.List;
 
 @Configuration
 public class ResolverConfig extends WebMvcConfigurationSupport {
 
+    /**
+     * Bounds the StreamingResponseBody exports. This class replaces Spring Boot's MVC auto-configuration,
+     * so spring.mvc.async.request-timeout would not be applied.
+     */
+    @Value("${ead.course.stream.request-timeout}")
+    private Duration streamRequestTimeout;
+
     @Override
     protected void addArgumentResolvers(List<HandlerMethodArgumentResolver> argumentResolvers) {
         argumentResolvers.add(new SpecificationArgumentResolver());
 
         PageableHandlerMethodArgumentResolver resolver = new PageableHandlerMethodArgumentResolver();
         argumentResolvers.add(resolver);
+        argumentResolvers.add(new SortHandlerMethodArgumentResolver());
 
         super.addArgumentResolvers(argumentResolvers);
     }
+
+    @Override
+    protected void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(streamRequestTimeout.toMillis());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.ead.course.configs;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Configuration
+public class WebClientConfig {
+
+    /**
+     * Bounded pool of connections to the AuthUser service. Requests beyond max-connections wait for a free
+     * connection, at most pending-acquire-max-count of them and for pending-acquire-timeout, the others fail
+     * fast instead of piling up on the request threads.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider authUserConnectionProvider(@Value("${ead.api.client.authuser.max-connections}") int maxConnections,
+                                                         @Value("${ead.api.client.authuser.pending-acquire-max-count}") int pendingAcquireMaxCount,
+                                                         @Value("${ead.api.client.authuser.pending-acquire-timeout}") Duration pendingAcquireTimeout,
+                                                         @Value("${ead.api.client.authuser.max-idle-time}") Duration maxIdleTime) {
+        return ConnectionProvider.builder("authuser")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .metrics(true)
+                .build();
+    }
+
+    @LoadBalanced
+    @Bean
+    public WebClient.Builder webClientBuilder(ConnectionProvider authUserConnectionProvider,
+                                              @Value("${ead.api.client.authuser.connect-timeout}") Duration connectTimeout,
+                                              @Value("${ead.api.client.authuser.response-timeout}") Duration responseTimeout) {
+        HttpClient httpClient = HttpClient.create(authUserConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout);
+        return WebClient.builder().clientConnector(new ReactorClientHttpConnector(httpClient));
+    }
+}
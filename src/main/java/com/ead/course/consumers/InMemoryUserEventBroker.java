@@ -0,0 +1,38 @@
+package com.ead.course.consumers;
+
+import com.ead.course.dtos.UserEventDto;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+@Log4j2
+@Component
+@ConditionalOnProperty(name = "ead.broker.user-events.type", havingValue = "in-memory", matchIfMissing = true)
+public class InMemoryUserEventBroker implements UserEventBroker {
+
+    private final List<Consumer<UserEventDto>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void subscribe(Consumer<UserEventDto> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Delivers the event synchronously to every listener, a failing listener does not prevent
+     * the others from receiving it.
+     */
+    @Override
+    public void publish(UserEventDto event) {
+        for (Consumer<UserEventDto> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                log.error("Error delivering user event {} userId {}", event.getActionType(), event.getUserId(), e);
+            }
+        }
+    }
+}
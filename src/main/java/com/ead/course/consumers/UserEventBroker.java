@@ -0,0 +1,16 @@
+package com.ead.course.consumers;
+
+import com.ead.course.dtos.UserEventDto;
+
+import java.util.function.Consumer;
+
+/**
+ * Transport of the user change events published by the AuthUser service. The in-memory implementation is
+ * used by default and in tests, a message broker adapter only needs to implement this interface.
+ */
+public interface UserEventBroker {
+
+    void subscribe(Consumer<UserEventDto> listener);
+
+    void publish(UserEventDto event);
+}
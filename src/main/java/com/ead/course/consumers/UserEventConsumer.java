@@ -0,0 +1,46 @@
+package com.ead.course.consumers;
+
+import com.ead.course.clients.AuthUserClient;
+import com.ead.course.dtos.UserDto;
+import com.ead.course.dtos.UserEventDto;
+import com.ead.course.services.UserService;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.BeanUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the local users table (TB_USERS) in sync with the AuthUser service, so subscriptions and course
+ * validation read the user status and type locally.
+ */
+@Log4j2
+@Component
+public class UserEventConsumer {
+
+    private final UserService userService;
+    private final AuthUserClient authUserClient;
+
+    public UserEventConsumer(UserEventBroker userEventBroker, UserService userService, AuthUserClient authUserClient) {
+        this.userService = userService;
+        this.authUserClient = authUserClient;
+        userEventBroker.subscribe(this::listen);
+    }
+
+    public void listen(UserEventDto event) {
+        log.debug("User event {} userId {} - RECEIVED", event.getActionType(), event.getUserId());
+        switch (event.getActionType()) {
+            case CREATE:
+            case UPDATE:
+                var user = new UserDto();
+                BeanUtils.copyProperties(event, user);
+                userService.save(user);
+                break;
+            case DELETE:
+                userService.delete(event.getUserId());
+                break;
+            default:
+                log.warn("User event {} userId {} - UNKNOWN ACTION", event.getActionType(), event.getUserId());
+                return;
+        }
+        authUserClient.evictUserById(event.getUserId());
+    }
+}
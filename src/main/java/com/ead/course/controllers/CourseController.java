@@ -1,42 +1,77 @@
 package com.ead.course.controllers;
 
+import com.ead.course.dtos.CompactPageDto;
 import com.ead.course.dtos.CourseDto;
+import com.ead.course.dtos.CourseFilterDto;
+import com.ead.course.dtos.CourseSummaryDto;
+import com.ead.course.dtos.CourseTreeDto;
+import com.ead.course.dtos.LessonTreeDto;
+import com.ead.course.dtos.ModuleTreeDto;
+import com.ead.course.enums.CourseLevel;
+import com.ead.course.enums.CourseStatus;
+import com.ead.course.enums.ExportFormat;
+import com.ead.course.metrics.QueryBudget;
 import com.ead.course.models.CourseModel;
+import com.ead.course.models.LessonModel;
+import com.ead.course.models.ModuleModel;
+import com.ead.course.services.CourseCatalogCacheService;
 import com.ead.course.services.CourseService;
+import com.ead.course.services.CourseStreamService;
+import com.ead.course.services.UtilsService;
 import com.ead.course.specifications.SpecificationTemplate;
 import com.ead.course.validation.CourseValidator;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.BeanUtils;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.SortDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.Errors;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Comparator;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Log4j2
 @RestController
 @RequestMapping("/api/v1/courses")
-@CrossOrigin(origins = "*", maxAge = 3600)
+@CrossOrigin(origins = "*", maxAge = 3600, exposedHeaders = {HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED})
 public class CourseController {
 
     private final CourseService courseService;
     private final CourseValidator courseValidator;
+    private final CourseCatalogCacheService courseCatalogCacheService;
+    private final CourseStreamService courseStreamService;
+    private final UtilsService utilsService;
 
-    public CourseController(CourseService courseService, CourseValidator courseValidator) {
+    public CourseController(CourseService courseService, CourseValidator courseValidator, CourseCatalogCacheService courseCatalogCacheService,
+                            CourseStreamService courseStreamService, UtilsService utilsService) {
         this.courseService = courseService;
         this.courseValidator = courseValidator;
+        this.courseCatalogCacheService = courseCatalogCacheService;
+        this.courseStreamService = courseStreamService;
+        this.utilsService = utilsService;
     }
 
     @PostMapping
+    @QueryBudget(4)
     public ResponseEntity<Object> saveCourse(@RequestBody CourseDto request, Errors errors) {
         log.info("POST saveCourse {} - START", request.toString());
         courseValidator.validate(request, errors);
@@ -49,12 +84,53 @@ public class CourseController {
         course.setCreationDate(LocalDateTime.now(ZoneId.of("UTC")));
         course.setLastUpdateDate(LocalDateTime.now(ZoneId.of("UTC")));
 
+        course = courseService.save(course);
+        courseCatalogCacheService.evictCourse(course);
         log.info("POST saveCourse SUCCESS");
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(courseService.save(course));
+        return ResponseEntity.status(HttpStatus.CREATED).body(course);
+    }
+
+    /**
+     * Creates a whole course from a stream of JSON lines: one COURSE line, then each MODULE line followed by
+     * the LESSON lines of that module. No query budget: the statements grow with the number of lines.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Object> importCourse(InputStream request) throws IOException {
+        log.info("POST importCourse - START");
+        CourseModel course;
+        try {
+            course = courseStreamService.importCourse(request);
+        } catch (IllegalArgumentException e) {
+            log.warn("POST importCourse - INVALID STREAM {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+        courseCatalogCacheService.evictCourse(course);
+        log.info("POST importCourse, courseId {} - SUCCESS", course.getCourseId());
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(course);
+    }
+
+    /**
+     * The budget covers the existence check only, the body is written on an async thread and its statements
+     * are budgeted on CourseStreamService.exportCourse.
+     */
+    @GetMapping(value = "/{id}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @QueryBudget(1)
+    public ResponseEntity<StreamingResponseBody> exportCourse(@PathVariable("id") UUID id) {
+        log.info("GET exportCourse, courseId {} - START", id);
+
+        if (courseService.findById(id).isEmpty()) {
+            log.warn("GET exportCourse, courseId {} - NOT FOUND", id);
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Course not found");
+        }
+
+        StreamingResponseBody body = outputStream -> courseStreamService.exportCourse(id, outputStream);
+        return ResponseEntity.status(HttpStatus.OK).contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @DeleteMapping("/{id}")
+    @QueryBudget(8)
     public ResponseEntity<Object> deleteCourse(@PathVariable("id") UUID id) {
         log.info("DELETE deleteCourse, courseId {} - START", id);
 
@@ -65,13 +141,16 @@ public class CourseController {
         }
 
         courseService.delete(possibleCourse.get());
+        courseCatalogCacheService.evictCourse(possibleCourse.get());
         log.info("DELETE deleteCourse, courseId {} - DELETED", id);
 
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Object> updateCourse(@PathVariable("id") UUID id, @RequestBody @Valid CourseDto request) {
+    @QueryBudget(3)
+    public ResponseEntity<Object> updateCourse(@PathVariable("id") UUID id, @RequestBody @Valid CourseDto request,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("PUT updateCourse, courseId {}, body {} - START", id, request.toString());
 
 
@@ -82,6 +161,13 @@ public class CourseController {
         }
 
         var course = possibleCourse.get();
+        if (!utilsService.matchesIfMatch(ifMatch, utilsService.createETag(course.getLastUpdateDate()))) {
+            log.warn("PUT updateCourse, courseId {} - PRECONDITION FAILED", id);
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body("Course was modified by another request");
+        }
+
+        var previousCourse = new CourseModel();
+        BeanUtils.copyProperties(course, previousCourse);
         course.setName(request.getName());
         course.setDescription(request.getDescription());
         course.setImageUrl(request.getImageUrl());
@@ -92,25 +178,97 @@ public class CourseController {
         log.info("PUT updateCourse, courseId {} - SUCCESS", id);
         log.debug("PUT updateCourse, body {} - SUCCESS", course.toString());
 
-        return ResponseEntity.status(HttpStatus.OK).body(courseService.save(course));
+        try {
+            course = courseService.save(course);
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("PUT updateCourse, courseId {} - CONCURRENT UPDATE", id);
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body("Course was modified by another request");
+        }
+        courseCatalogCacheService.evictCourse(previousCourse);
+        courseCatalogCacheService.evictCourse(course);
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .eTag(utilsService.createETag(course.getLastUpdateDate()))
+                .lastModified(course.getLastUpdateDate().toInstant(ZoneOffset.UTC))
+                .body(course);
     }
 
     @GetMapping
-    public ResponseEntity<Page<CourseModel>> getAllCourses(SpecificationTemplate.CourseSpec spec,
-                                                           @PageableDefault(page = 0, size = 10, sort = "courseId", direction = Sort.Direction.ASC) Pageable pageable,
-                                                           @RequestParam(required = false) UUID userId) {
+    @QueryBudget(2)
+    public ResponseEntity<CompactPageDto<CourseSummaryDto>> getAllCourses(SpecificationTemplate.CourseSpec spec,
+                                                                          @PageableDefault(page = 0, size = 10, sort = "courseId", direction = Sort.Direction.ASC) Pageable pageable,
+                                                                          @RequestParam(required = false) UUID userId,
+                                                                          CourseFilterDto filter) {
         log.info("GET getAllCourses paged - START");
-        Page<CourseModel> response;
-        if (userId != null) {
-            response = courseService.findAll(SpecificationTemplate.courseUserId(userId).and(spec), pageable);
-        } else {
-            response = courseService.findAll(spec, pageable);
+        Page<CourseSummaryDto> response = courseCatalogCacheService.findAll(filter, pageable, () -> {
+            if (userId != null) {
+                return courseService.findAll(SpecificationTemplate.courseUserId(userId).and(spec), pageable);
+            }
+            return courseService.findAll(spec, pageable);
+        });
+
+        return ResponseEntity.status(HttpStatus.OK).body(CompactPageDto.of(response));
+    }
+
+    /**
+     * Keyset pagination mode of getAllCourses, selected by the presence of the cursor parameter (empty for the
+     * first slice). Only the first sort property is used, the page number is ignored and no COUNT is issued.
+     */
+    @GetMapping(params = "cursor")
+    @QueryBudget(1)
+    public ResponseEntity<Object> getAllCoursesByCursor(SpecificationTemplate.CourseSpec spec,
+                                                        @PageableDefault(page = 0, size = 10, sort = "courseId", direction = Sort.Direction.ASC) Pageable pageable,
+                                                        @RequestParam(required = false) UUID userId,
+                                                        @RequestParam String cursor) {
+        log.info("GET getAllCoursesByCursor - START");
+        Specification<CourseModel> specification = userId != null ? SpecificationTemplate.courseUserId(userId).and(spec) : spec;
+        try {
+            return ResponseEntity.status(HttpStatus.OK).body(courseService.findAll(specification, pageable, cursor));
+        } catch (IllegalArgumentException e) {
+            log.warn("GET getAllCoursesByCursor - INVALID CURSOR {}", cursor);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid cursor");
         }
+    }
+
+    /**
+     * Streams every course matching the same filters as getAllCourses, without paging, as JSON lines or CSV
+     * (format=CSV). No statement runs on the request thread, the budget is on CourseStreamService.exportCourses
+     * which writes the body on an async thread.
+     */
+    @GetMapping(value = "/export", produces = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public ResponseEntity<StreamingResponseBody> exportCourses(SpecificationTemplate.CourseSpec spec,
+                                                               @SortDefault(sort = "courseId", direction = Sort.Direction.ASC) Sort sort,
+                                                               @RequestParam(required = false) UUID userId,
+                                                               @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        log.info("GET exportCourses, format {} - START", format);
+        Specification<CourseModel> specification = userId != null ? SpecificationTemplate.courseUserId(userId).and(spec) : spec;
+
+        StreamingResponseBody body = outputStream -> courseStreamService.exportCourses(specification, sort, format, outputStream);
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(format == ExportFormat.CSV ? MediaType.parseMediaType("text/csv") : MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
 
-        return ResponseEntity.status(HttpStatus.OK).body(response);
+    /**
+     * Ranked, accent and case insensitive search over course name and description, every word matched as a
+     * prefix. Combines with the courseLevel and courseStatus filters.
+     */
+    @GetMapping("/search")
+    @QueryBudget(2)
+    public ResponseEntity<Object> searchCourses(@RequestParam String q,
+                                                @RequestParam(required = false) CourseLevel courseLevel,
+                                                @RequestParam(required = false) CourseStatus courseStatus,
+                                                @PageableDefault(page = 0, size = 10) Pageable pageable) {
+        log.info("GET searchCourses, q {} - START", q);
+        if (q.isBlank()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Search term is required");
+        }
+
+        return ResponseEntity.status(HttpStatus.OK).body(CompactPageDto.of(courseService.search(q, courseLevel, courseStatus, pageable)));
     }
 
     @GetMapping("/{id}")
+    @QueryBudget(1)
     public ResponseEntity<Object> getOneCourse(@PathVariable("id") UUID id) {
         log.info("GET getOneCourse, courseId {} - START", id);
 
@@ -120,6 +278,44 @@ public class CourseController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Course not found");
         }
 
-        return ResponseEntity.status(HttpStatus.OK).body(possibleCourse.get());
+        // a matching If-None-Match or If-Modified-Since turns the response into a 304 before the body is written
+        var course = possibleCourse.get();
+        return ResponseEntity.status(HttpStatus.OK)
+                .eTag(utilsService.createETag(course.getLastUpdateDate()))
+                .lastModified(course.getLastUpdateDate().toInstant(ZoneOffset.UTC))
+                .body(course);
+    }
+
+    @GetMapping("/{id}/tree")
+    @QueryBudget(3)
+    public ResponseEntity<Object> getCourseTree(@PathVariable("id") UUID id) {
+        log.info("GET getCourseTree, courseId {} - START", id);
+
+        Optional<CourseModel> possibleCourse = courseService.findCourseTreeById(id);
+        if (possibleCourse.isEmpty()) {
+            log.warn("GET getCourseTree, courseId {} - NOT FOUND", id);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Course not found");
+        }
+
+        var course = new CourseTreeDto();
+        BeanUtils.copyProperties(possibleCourse.get(), course, "modules");
+        course.setModules(possibleCourse.get().getModules().stream()
+                .sorted(Comparator.comparing(ModuleModel::getCreationDate).thenComparing(ModuleModel::getModuleId))
+                .map(moduleModel -> {
+                    var module = new ModuleTreeDto();
+                    BeanUtils.copyProperties(moduleModel, module, "lessons");
+                    module.setLessons(moduleModel.getLessons().stream()
+                            .sorted(Comparator.comparing(LessonModel::getCreationDate).thenComparing(LessonModel::getLessonId))
+                            .map(lessonModel -> {
+                                var lesson = new LessonTreeDto();
+                                BeanUtils.copyProperties(lessonModel, lesson);
+                                return lesson;
+                            })
+                            .collect(Collectors.toList()));
+                    return module;
+                })
+                .collect(Collectors.toList()));
+
+        return ResponseEntity.status(HttpStatus.OK).body(course);
     }
 }
@@ -1,13 +1,21 @@
 package com.ead.course.controllers;
 
 import com.ead.course.clients.AuthUserClient;
+import com.ead.course.dtos.BulkSubscriptionDto;
+import com.ead.course.dtos.CompactPageDto;
 import com.ead.course.dtos.SubscriptionDto;
-import com.ead.course.dtos.UserDto;
+import com.ead.course.dtos.SubscriptionResultDto;
+import com.ead.course.dtos.UserSummaryDto;
+import com.ead.course.enums.SubscriptionResult;
 import com.ead.course.enums.UserStatus;
+import com.ead.course.metrics.QueryBudget;
 import com.ead.course.models.CourseModel;
 import com.ead.course.models.CourseUserModel;
+import com.ead.course.models.UserModel;
+import com.ead.course.services.CourseCatalogCacheService;
 import com.ead.course.services.CourseService;
 import com.ead.course.services.CourseUserService;
+import com.ead.course.services.UserService;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -16,10 +24,16 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 import javax.validation.Valid;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Log4j2
@@ -30,66 +44,168 @@ public class CourseUserController {
     private final CourseService courseService;
     private final CourseUserService courseUserService;
     private final AuthUserClient authUserClient;
+    private final CourseCatalogCacheService courseCatalogCacheService;
+    private final UserService userService;
 
-    public CourseUserController(CourseService courseService, CourseUserService courseUserService, AuthUserClient authUserClient) {
+    public CourseUserController(CourseService courseService, CourseUserService courseUserService, AuthUserClient authUserClient,
+                                CourseCatalogCacheService courseCatalogCacheService, UserService userService) {
         this.courseService = courseService;
         this.courseUserService = courseUserService;
         this.authUserClient = authUserClient;
+        this.courseCatalogCacheService = courseCatalogCacheService;
+        this.userService = userService;
     }
 
+    private static final Set<String> ROSTER_SORT_PROPERTIES = Set.of(UserSummaryDto.PROPERTIES);
+
+    /**
+     * Served from the local users projection joined with the course subscriptions. While the projection
+     * misses some enrolled users (e.g. subscriptions older than the projection) the roster is still
+     * fetched from AuthUser. Both paths return the same rows, sorted on the attributes they share only.
+     */
     @GetMapping("/api/v1/courses/{courseId}/users")
+    @QueryBudget(4)
     public ResponseEntity<Object> getAllUsersByCourse(
             @PageableDefault(page = 0, size = 10, sort = "userId", direction = Sort.Direction.ASC) Pageable pageable,
             @PathVariable(value = "courseId") UUID courseId) {
 
+        if (!pageable.getSort().stream().allMatch(order -> ROSTER_SORT_PROPERTIES.contains(order.getProperty()))) {
+            log.warn("GET getAllUsersByCourse, courseId {} - INVALID SORT {}", courseId, pageable.getSort());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid sort property");
+        }
         Optional<CourseModel> possibleCourse = courseService.findById(courseId);
         if (possibleCourse.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Course not found");
         }
-        return ResponseEntity.status(HttpStatus.OK).body(authUserClient.getAllUsersByCourse(courseId, pageable));
+        Page<UserSummaryDto> users = userService.findAllUsersIntoCourse(courseId, pageable);
+        if (users.getTotalElements() < courseUserService.countByCourse(possibleCourse.get())) {
+            log.warn("GET getAllUsersByCourse, courseId {} - users missing locally, fetching from AuthUser", courseId);
+            try {
+                users = authUserClient.getAllUsersByCourse(courseId, pageable).map(user -> new UserSummaryDto(user.getUserId(),
+                        user.getEmail(), user.getFullname(), user.getUserStatus(), user.getUserType()));
+            } catch (WebClientResponseException e) {
+                log.warn("GET getAllUsersByCourse, courseId {} - AuthUser answered {}", courseId, e.getRawStatusCode());
+                return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsString());
+            }
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(CompactPageDto.of(users));
     }
 
     @PostMapping("/api/v1/courses/{courseId}/users/subscription")
+    @QueryBudget(8)
     public ResponseEntity<Object> saveSubscriptionUserInCourse(
             @PathVariable(value = "courseId") UUID courseId,
             @RequestBody @Valid SubscriptionDto request) {
-        ResponseEntity<UserDto> responseUser;
+        Optional<UserModel> possibleUser;
 
         Optional<CourseModel> possibleCourse = courseService.findById(courseId);
         if (possibleCourse.isEmpty()) {
             log.warn("POST saveSubscriptionUserInCourse, courseId {} - NOT FOUND", courseId);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Course not found");
         }
-        if (courseUserService.existsByCourseAndUserId(possibleCourse.get(), request.getUserId())) {
+        // cheap local check so a repeated subscription never reaches AuthUser, the insert below still settles races
+        if (!courseUserService.findAllUserIdsIntoCourse(possibleCourse.get(), Set.of(request.getUserId())).isEmpty()) {
             log.warn("POST saveSubscriptionUserInCourse, courseId {} - User already registered userId {}", courseId, request.getUserId());
             return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body("User already registered in course");
         }
         try {
-            responseUser = authUserClient.getOneUserById(request.getUserId());
-            if (responseUser.getBody().getUserStatus().equals(UserStatus.BLOCKED)) {
-                log.warn("POST saveSubscriptionUserInCourse, courseId {} - User is blocked userId {}", courseId, request.getUserId());
-                return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body("User is blocked.");
+            possibleUser = userService.findOrFetchById(request.getUserId());
+        } catch (WebClientResponseException e) {
+            log.error("POST saveSubscriptionUserInCourse Internal Server Error");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Internal Server Error");
+        }
+        if (possibleUser.isEmpty()) {
+            log.warn("POST saveSubscriptionUserInCourse, userId {} - NOT FOUND", request.getUserId());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found.");
+        }
+        if (possibleUser.get().getUserStatus().equals(UserStatus.BLOCKED)) {
+            log.warn("POST saveSubscriptionUserInCourse, courseId {} - User is blocked userId {}", courseId, request.getUserId());
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body("User is blocked.");
+        }
+
+        var courseUserModel = courseUserService.saveAndSendSubscriptionUserInCourse(new CourseUserModel(null, possibleCourse.get(), request.getUserId()));
+        if (courseUserModel.isEmpty()) {
+            log.warn("POST saveSubscriptionUserInCourse, courseId {} - User already registered userId {}", courseId, request.getUserId());
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body("User already registered in course");
+        }
+        courseCatalogCacheService.evictUser(request.getUserId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(courseUserModel.get());
+    }
+
+    /**
+     * No query budget: the statements grow with the number of users, and the users missing locally are looked
+     * up and stored on boundedElastic threads the per-thread QueryCounter does not see.
+     */
+    @PostMapping("/api/v1/courses/{courseId}/users/subscriptions")
+    public ResponseEntity<Object> saveSubscriptionUsersInCourse(
+            @PathVariable(value = "courseId") UUID courseId,
+            @RequestBody @Valid BulkSubscriptionDto request) {
+        log.info("POST saveSubscriptionUsersInCourse, courseId {}, users {} - START", courseId, request.getUserIds().size());
+
+        Optional<CourseModel> possibleCourse = courseService.findById(courseId);
+        if (possibleCourse.isEmpty()) {
+            log.warn("POST saveSubscriptionUsersInCourse, courseId {} - NOT FOUND", courseId);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Course not found");
+        }
+
+        Set<UUID> userIds = new LinkedHashSet<>(request.getUserIds());
+        Set<UUID> registeredUserIds = courseUserService.findAllUserIdsIntoCourse(possibleCourse.get(), userIds);
+        Set<UUID> unregisteredUserIds = new LinkedHashSet<>(userIds);
+        unregisteredUserIds.removeAll(registeredUserIds);
+        // the users not stored locally are fetched from AuthUser concurrently, not one after the other
+        Map<UUID, Optional<UserModel>> users = userService.findOrFetchAllByIds(unregisteredUserIds);
+        Map<UUID, SubscriptionResult> results = new LinkedHashMap<>();
+        List<CourseUserModel> subscriptions = new ArrayList<>();
+
+        for (UUID userId : userIds) {
+            if (registeredUserIds.contains(userId)) {
+                results.put(userId, SubscriptionResult.ALREADY_REGISTERED);
+                continue;
+            }
+            Optional<UserModel> possibleUser = users.get(userId);
+            if (possibleUser == null) {
+                results.put(userId, SubscriptionResult.FAILED);
+                continue;
             }
-        } catch (HttpStatusCodeException e) {
-            if (e.getStatusCode().equals(HttpStatus.NOT_FOUND)) {
-                log.warn("POST saveSubscriptionUserInCourse, userId {} - NOT FOUND", request.getUserId());
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found.");
-            } else {
-                log.error("POST saveSubscriptionUserInCourse Internal Server Error");
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Internal Server Error");
+            if (possibleUser.isEmpty()) {
+                results.put(userId, SubscriptionResult.USER_NOT_FOUND);
+                continue;
             }
+            if (possibleUser.get().getUserStatus().equals(UserStatus.BLOCKED)) {
+                results.put(userId, SubscriptionResult.USER_BLOCKED);
+                continue;
+            }
+            results.put(userId, SubscriptionResult.SUBSCRIBED);
+            subscriptions.add(new CourseUserModel(null, possibleCourse.get(), userId));
         }
 
-        var courseUserModel = courseUserService.saveAndSendSubscriptionUserInCourse(new CourseUserModel(null, possibleCourse.get(), request.getUserId()));
-        return ResponseEntity.status(HttpStatus.CREATED).body(courseUserModel);
+        int subscribed = 0;
+        if (!subscriptions.isEmpty()) {
+            List<CourseUserModel> saved = courseUserService.saveAllAndSendSubscriptionUsersInCourse(subscriptions);
+            saved.forEach(subscription -> courseCatalogCacheService.evictUser(subscription.getUserId()));
+            subscribed = saved.size();
+
+            // what is left was registered by a concurrent request after findAllUserIdsIntoCourse
+            subscriptions.removeAll(saved);
+            subscriptions.forEach(subscription -> results.put(subscription.getUserId(), SubscriptionResult.ALREADY_REGISTERED));
+        }
+        log.info("POST saveSubscriptionUsersInCourse, courseId {}, subscribed {} - SUCCESS", courseId, subscribed);
+
+        List<SubscriptionResultDto> response = new ArrayList<>();
+        results.forEach((userId, result) -> response.add(new SubscriptionResultDto(userId, result)));
+        return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 
     @DeleteMapping("/api/v1/courses/users/{userId}")
+    @QueryBudget(8)
     public ResponseEntity<Object> deleteCourseUserByUser(@PathVariable(value = "userId") UUID userId) {
         if (!courseUserService.existsByUserId(userId)) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("CourseUser not found");
         }
         courseUserService.deleteCourseUserByUser(userId);
+        authUserClient.evictUserById(userId);
+        userService.delete(userId);
+        courseCatalogCacheService.evictUser(userId);
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
 }
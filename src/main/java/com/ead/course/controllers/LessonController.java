@@ -1,17 +1,22 @@
 package com.ead.course.controllers;
 
+import com.ead.course.dtos.CompactPageDto;
 import com.ead.course.dtos.LessonDto;
+import com.ead.course.dtos.LessonSummaryDto;
+import com.ead.course.metrics.QueryBudget;
 import com.ead.course.models.LessonModel;
 import com.ead.course.models.ModuleModel;
 import com.ead.course.services.LessonService;
 import com.ead.course.services.ModuleService;
+import com.ead.course.services.UtilsService;
 import com.ead.course.specifications.SpecificationTemplate;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.BeanUtils;
-import org.springframework.data.domain.Page;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -24,18 +29,21 @@ import java.util.UUID;
 
 @Log4j2
 @RestController
-@CrossOrigin(origins = "*", maxAge = 3600)
+@CrossOrigin(origins = "*", maxAge = 3600, exposedHeaders = HttpHeaders.ETAG)
 public class LessonController {
 
     private final LessonService lessonService;
     private final ModuleService moduleService;
+    private final UtilsService utilsService;
 
-    public LessonController(LessonService lessonService, ModuleService moduleService) {
+    public LessonController(LessonService lessonService, ModuleService moduleService, UtilsService utilsService) {
         this.lessonService = lessonService;
         this.moduleService = moduleService;
+        this.utilsService = utilsService;
     }
 
     @PostMapping("/api/v1/modules/{moduleId}/lessons")
+    @QueryBudget(2)
     public ResponseEntity<Object> saveLesson(@PathVariable("moduleId") UUID moduleId, @RequestBody @Valid LessonDto request) {
         Optional<ModuleModel> possibleModule = moduleService.findById(moduleId);
         if (possibleModule.isEmpty()) {
@@ -51,6 +59,7 @@ public class LessonController {
     }
 
     @DeleteMapping("/api/v1/modules/{moduleId}/lessons/{lessonId}")
+    @QueryBudget(3)
     public ResponseEntity<Object> deleteLesson(@PathVariable("moduleId") UUID moduleId,
                                                @PathVariable("lessonId") UUID lessonId) {
         Optional<LessonModel> possibleLesson = lessonService.findByLessonIntoModule(moduleId, lessonId);
@@ -63,29 +72,55 @@ public class LessonController {
     }
 
     @PutMapping("/api/v1/modules/{moduleId}/lessons/{lessonId}")
+    @QueryBudget(3)
     public ResponseEntity<Object> updateLesson(@PathVariable("moduleId") UUID moduleId,
                                                @PathVariable("lessonId") UUID lessonId,
-                                               @RequestBody @Valid LessonDto request) {
+                                               @RequestBody @Valid LessonDto request,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         Optional<LessonModel> possibleLesson = lessonService.findByLessonIntoModule(moduleId, lessonId);
         if (possibleLesson.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Lesson not found for this module");
         }
 
         var lesson = possibleLesson.get();
+        if (!utilsService.matchesIfMatch(ifMatch, utilsService.createETag(lesson.getVersion()))) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body("Lesson was modified by another request");
+        }
         lesson.setTitle(request.getTitle());
         lesson.setDescription(request.getDescription());
         lesson.setVideoUrl(request.getVideoUrl());
-        return ResponseEntity.status(HttpStatus.OK).body(lessonService.save(lesson));
+
+        try {
+            lesson = lessonService.save(lesson);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body("Lesson was modified by another request");
+        }
+        return ResponseEntity.status(HttpStatus.OK).eTag(utilsService.createETag(lesson.getVersion())).body(lesson);
     }
 
     @GetMapping("/api/v1/modules/{moduleId}/lessons")
-    public ResponseEntity<Page<LessonModel>> getAllLessons(@PathVariable("moduleId") UUID moduleId,
-                                                           SpecificationTemplate.LessonSpec spec,
-                                                           @PageableDefault(page = 0, size = 10, sort = "lessonId", direction = Sort.Direction.ASC) Pageable pageable) {
-        return ResponseEntity.status(HttpStatus.OK).body(lessonService.findAllByModule(SpecificationTemplate.lessonModuleId(moduleId).and(spec), pageable));
+    @QueryBudget(2)
+    public ResponseEntity<CompactPageDto<LessonSummaryDto>> getAllLessons(@PathVariable("moduleId") UUID moduleId,
+                                                                          SpecificationTemplate.LessonSpec spec,
+                                                                          @PageableDefault(page = 0, size = 10, sort = "lessonId", direction = Sort.Direction.ASC) Pageable pageable) {
+        return ResponseEntity.status(HttpStatus.OK).body(CompactPageDto.of(lessonService.findAllByModule(SpecificationTemplate.lessonModuleId(moduleId).and(spec), pageable)));
+    }
+
+    @GetMapping(value = "/api/v1/modules/{moduleId}/lessons", params = "cursor")
+    @QueryBudget(1)
+    public ResponseEntity<Object> getAllLessonsByCursor(@PathVariable("moduleId") UUID moduleId,
+                                                        SpecificationTemplate.LessonSpec spec,
+                                                        @PageableDefault(page = 0, size = 10, sort = "lessonId", direction = Sort.Direction.ASC) Pageable pageable,
+                                                        @RequestParam String cursor) {
+        try {
+            return ResponseEntity.status(HttpStatus.OK).body(lessonService.findAllByModule(SpecificationTemplate.lessonModuleId(moduleId).and(spec), pageable, cursor));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid cursor");
+        }
     }
 
     @GetMapping("/api/v1/modules/{moduleId}/lessons/{lessonId}")
+    @QueryBudget(1)
     public ResponseEntity<Object> getOneLesson(@PathVariable("moduleId") UUID moduleId,
                                                @PathVariable("lessonId") UUID lessonId) {
         Optional<LessonModel> possibleLesson = lessonService.findByLessonIntoModule(moduleId, lessonId);
@@ -93,6 +128,6 @@ public class LessonController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Lesson not found for this module");
         }
 
-        return ResponseEntity.status(HttpStatus.OK).body(possibleLesson.get());
+        return ResponseEntity.status(HttpStatus.OK).eTag(utilsService.createETag(possibleLesson.get().getVersion())).body(possibleLesson.get());
     }
 }
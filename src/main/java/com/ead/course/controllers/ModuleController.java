@@ -1,17 +1,22 @@
 package com.ead.course.controllers;
 
+import com.ead.course.dtos.CompactPageDto;
 import com.ead.course.dtos.ModuleDto;
+import com.ead.course.dtos.ModuleSummaryDto;
+import com.ead.course.metrics.QueryBudget;
 import com.ead.course.models.CourseModel;
 import com.ead.course.models.ModuleModel;
 import com.ead.course.services.CourseService;
 import com.ead.course.services.ModuleService;
+import com.ead.course.services.UtilsService;
 import com.ead.course.specifications.SpecificationTemplate;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.BeanUtils;
-import org.springframework.data.domain.Page;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -24,18 +29,21 @@ import java.util.UUID;
 
 @Log4j2
 @RestController
-@CrossOrigin(origins = "*", maxAge = 3600)
+@CrossOrigin(origins = "*", maxAge = 3600, exposedHeaders = HttpHeaders.ETAG)
 public class ModuleController {
 
     private final ModuleService moduleService;
     private final CourseService courseService;
+    private final UtilsService utilsService;
 
-    public ModuleController(ModuleService moduleService, CourseService courseService) {
+    public ModuleController(ModuleService moduleService, CourseService courseService, UtilsService utilsService) {
         this.moduleService = moduleService;
         this.courseService = courseService;
+        this.utilsService = utilsService;
     }
 
     @PostMapping("/api/v1/courses/{id}/modules")
+    @QueryBudget(2)
     public ResponseEntity<Object> saveModule(@PathVariable("id") UUID id, @RequestBody @Valid ModuleDto request) {
         log.info("POST saveModule, courseId {} - START", id);
         Optional<CourseModel> possibleCourse = courseService.findById(id);
@@ -56,6 +64,7 @@ public class ModuleController {
     }
 
     @DeleteMapping("/api/v1/courses/{courseId}/modules/{moduleId}")
+    @QueryBudget(6)
     public ResponseEntity<Object> deleteModule(@PathVariable("courseId") UUID courseId,
                                                @PathVariable("moduleId") UUID moduleId) {
         log.info("DELETE deleteModule, courseId {}, moduleId {} - START", courseId, moduleId);
@@ -72,9 +81,11 @@ public class ModuleController {
     }
 
     @PutMapping("/api/v1/courses/{courseId}/modules/{moduleId}")
+    @QueryBudget(3)
     public ResponseEntity<Object> updateModule(@PathVariable("courseId") UUID courseId,
                                                @PathVariable("moduleId") UUID moduleId,
-                                               @RequestBody @Valid ModuleDto request) {
+                                               @RequestBody @Valid ModuleDto request,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("PUT updateModule, courseId {}, moduleId {} - START", courseId, moduleId);
 
         Optional<ModuleModel> possibleModule = moduleService.findByModuleIntoCourse(courseId, moduleId);
@@ -84,22 +95,50 @@ public class ModuleController {
         }
 
         var module = possibleModule.get();
+        if (!utilsService.matchesIfMatch(ifMatch, utilsService.createETag(module.getVersion()))) {
+            log.warn("PUT updateModule, courseId {}, moduleId {} - PRECONDITION FAILED", courseId, moduleId);
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body("Module was modified by another request");
+        }
         module.setTitle(request.getTitle());
         module.setDescription(request.getDescription());
 
+        try {
+            module = moduleService.save(module);
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("PUT updateModule, courseId {}, moduleId {} - CONCURRENT UPDATE", courseId, moduleId);
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body("Module was modified by another request");
+        }
+
         log.info("PUT updateModule, courseId {}, moduleId {} - SUCCESS", courseId, moduleId);
-        return ResponseEntity.status(HttpStatus.OK).body(moduleService.save(module));
+        return ResponseEntity.status(HttpStatus.OK).eTag(utilsService.createETag(module.getVersion())).body(module);
     }
 
     @GetMapping("/api/v1/courses/{courseId}/modules")
-    public ResponseEntity<Page<ModuleModel>> getAllModules(@PathVariable("courseId") UUID courseId,
-                                                           SpecificationTemplate.ModuleSpec spec,
-                                                           @PageableDefault(page = 0, size = 10, sort = "moduleId", direction = Sort.Direction.ASC) Pageable pageable) {
+    @QueryBudget(2)
+    public ResponseEntity<CompactPageDto<ModuleSummaryDto>> getAllModules(@PathVariable("courseId") UUID courseId,
+                                                                          SpecificationTemplate.ModuleSpec spec,
+                                                                          @PageableDefault(page = 0, size = 10, sort = "moduleId", direction = Sort.Direction.ASC) Pageable pageable) {
         log.info("GET getAllModules paged - START");
-        return ResponseEntity.status(HttpStatus.OK).body(moduleService.findAllByCourse(SpecificationTemplate.moduleCourseId(courseId).and(spec), pageable));
+        return ResponseEntity.status(HttpStatus.OK).body(CompactPageDto.of(moduleService.findAllByCourse(SpecificationTemplate.moduleCourseId(courseId).and(spec), pageable)));
+    }
+
+    @GetMapping(value = "/api/v1/courses/{courseId}/modules", params = "cursor")
+    @QueryBudget(1)
+    public ResponseEntity<Object> getAllModulesByCursor(@PathVariable("courseId") UUID courseId,
+                                                        SpecificationTemplate.ModuleSpec spec,
+                                                        @PageableDefault(page = 0, size = 10, sort = "moduleId", direction = Sort.Direction.ASC) Pageable pageable,
+                                                        @RequestParam String cursor) {
+        log.info("GET getAllModulesByCursor - START");
+        try {
+            return ResponseEntity.status(HttpStatus.OK).body(moduleService.findAllByCourse(SpecificationTemplate.moduleCourseId(courseId).and(spec), pageable, cursor));
+        } catch (IllegalArgumentException e) {
+            log.warn("GET getAllModulesByCursor - INVALID CURSOR {}", cursor);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid cursor");
+        }
     }
 
     @GetMapping("/api/v1/courses/{courseId}/modules/{moduleId}")
+    @QueryBudget(1)
     public ResponseEntity<Object> getOneModule(@PathVariable("courseId") UUID courseId,
                                                @PathVariable("moduleId") UUID moduleId) {
         log.info("GET getOneModule, courseId {}, moduleId {} - START", courseId, moduleId);
@@ -111,6 +150,6 @@ public class ModuleController {
         }
 
         log.info("GET getOneModule, courseId {}, moduleId {} - SUCCESS", courseId, moduleId);
-        return ResponseEntity.status(HttpStatus.OK).body(possibleModule.get());
+        return ResponseEntity.status(HttpStatus.OK).eTag(utilsService.createETag(possibleModule.get().getVersion())).body(possibleModule.get());
     }
 }
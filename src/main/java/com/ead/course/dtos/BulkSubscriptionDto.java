@@ -0,0 +1,18 @@
+package com.ead.course.dtos;
+
+import lombok.Data;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class BulkSubscriptionDto {
+
+    @NotEmpty
+    @Size(max = 5000)
+    private List<@NotNull UUID> userIds;
+
+}
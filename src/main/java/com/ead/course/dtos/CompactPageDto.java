@@ -0,0 +1,26 @@
+package com.ead.course.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Page envelope of the listing endpoints, instead of the serialized PageImpl with its pageable and sort objects.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CompactPageDto<T> {
+
+    private List<T> content;
+    private int page;
+    private int size;
+    private long totalElements;
+
+    public static <T> CompactPageDto<T> of(Page<T> page) {
+        return new CompactPageDto<>(page.getContent(), page.getNumber(), page.getSize(), page.getTotalElements());
+    }
+}
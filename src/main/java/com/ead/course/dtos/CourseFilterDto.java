@@ -0,0 +1,19 @@
+package com.ead.course.dtos;
+
+import com.ead.course.enums.CourseLevel;
+import com.ead.course.enums.CourseStatus;
+import lombok.Data;
+
+import java.util.UUID;
+
+/**
+ * The catalog filters of getAllCourses, bound from the same request parameters as CourseSpec.
+ */
+@Data
+public class CourseFilterDto {
+
+    private CourseLevel courseLevel;
+    private CourseStatus courseStatus;
+    private String name;
+    private UUID userId;
+}
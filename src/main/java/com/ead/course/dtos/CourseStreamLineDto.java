@@ -0,0 +1,23 @@
+package com.ead.course.dtos;
+
+import com.ead.course.enums.CourseStreamLineType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of the course import/export stream (application/x-ndjson). The first line holds the course, each
+ * MODULE line is followed by the LESSON lines of that module.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CourseStreamLineDto {
+
+    private CourseStreamLineType type;
+    private CourseDto course;
+    private ModuleDto module;
+    private LessonDto lesson;
+}
@@ -0,0 +1,40 @@
+package com.ead.course.dtos;
+
+import com.ead.course.enums.CourseLevel;
+import com.ead.course.enums.CourseStatus;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Row of the course catalog, selected column by column (see KeysetSpecificationExecutor.findAllProjected).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CourseSummaryDto {
+
+    /** Attributes of CourseModel in the order of the constructor. */
+    public static final String[] PROPERTIES = {
+            "courseId", "name", "description", "imageUrl", "creationDate", "lastUpdateDate", "courseStatus", "courseLevel", "userInstructor"
+    };
+
+    private UUID courseId;
+    private String name;
+    private String description;
+    private String imageUrl;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    private LocalDateTime creationDate;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    private LocalDateTime lastUpdateDate;
+
+    private CourseStatus courseStatus;
+    private CourseLevel courseLevel;
+    private UUID userInstructor;
+}
@@ -0,0 +1,20 @@
+package com.ead.course.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPageDto<T> {
+
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+
+}
@@ -0,0 +1,23 @@
+package com.ead.course.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class KeysetCursorDto {
+
+    private String sortProperty;
+    private Sort.Direction direction;
+    /**
+     * Converted to the type of the sorted attribute, null when the last row had no value.
+     */
+    private Comparable<?> sortValue;
+    private UUID id;
+
+}
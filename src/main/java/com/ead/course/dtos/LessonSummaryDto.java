@@ -0,0 +1,26 @@
+package com.ead.course.dtos;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LessonSummaryDto {
+
+    /** Attributes of LessonModel in the order of the constructor. */
+    public static final String[] PROPERTIES = {"lessonId", "title", "description", "videoUrl", "creationDate"};
+
+    private UUID lessonId;
+    private String title;
+    private String description;
+    private String videoUrl;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    private LocalDateTime creationDate;
+}
@@ -0,0 +1,19 @@
+package com.ead.course.dtos;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+public class LessonTreeDto {
+
+    private UUID lessonId;
+    private String title;
+    private String description;
+    private String videoUrl;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    private LocalDateTime creationDate;
+}
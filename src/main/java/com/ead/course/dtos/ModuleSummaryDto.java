@@ -0,0 +1,25 @@
+package com.ead.course.dtos;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ModuleSummaryDto {
+
+    /** Attributes of ModuleModel in the order of the constructor. */
+    public static final String[] PROPERTIES = {"moduleId", "title", "description", "creationDate"};
+
+    private UUID moduleId;
+    private String title;
+    private String description;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    private LocalDateTime creationDate;
+}
@@ -0,0 +1,21 @@
+package com.ead.course.dtos;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class ModuleTreeDto {
+
+    private UUID moduleId;
+    private String title;
+    private String description;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    private LocalDateTime creationDate;
+
+    private List<LessonTreeDto> lessons;
+}
@@ -0,0 +1,18 @@
+package com.ead.course.dtos;
+
+import com.ead.course.enums.SubscriptionResult;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SubscriptionResultDto {
+
+    private UUID userId;
+    private SubscriptionResult result;
+
+}
@@ -0,0 +1,20 @@
+package com.ead.course.dtos;
+
+import com.ead.course.enums.ActionType;
+import com.ead.course.enums.UserStatus;
+import com.ead.course.enums.UserType;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+public class UserEventDto {
+
+    private UUID userId;
+    private String email;
+    private String fullname;
+    private UserStatus userStatus;
+    private UserType userType;
+    private ActionType actionType;
+
+}
@@ -0,0 +1,27 @@
+package com.ead.course.dtos;
+
+import com.ead.course.enums.UserStatus;
+import com.ead.course.enums.UserType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Row of a course roster, the same whether it is read from the local users projection or fetched from AuthUser.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserSummaryDto {
+
+    /** Attributes of UserModel in the order of the constructor, also the attributes a roster can be sorted on. */
+    public static final String[] PROPERTIES = {"userId", "email", "fullname", "userStatus", "userType"};
+
+    private UUID userId;
+    private String email;
+    private String fullname;
+    private UserStatus userStatus;
+    private UserType userType;
+}
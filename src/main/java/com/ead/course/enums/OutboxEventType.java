@@ -0,0 +1,6 @@
+package com.ead.course.enums;
+
+public enum OutboxEventType {
+    SUBSCRIPTION_USER_IN_COURSE,
+    DELETE_COURSE_IN_AUTHUSER
+}
@@ -0,0 +1,9 @@
+package com.ead.course.enums;
+
+public enum SubscriptionResult {
+    SUBSCRIBED,
+    ALREADY_REGISTERED,
+    USER_BLOCKED,
+    USER_NOT_FOUND,
+    FAILED
+}
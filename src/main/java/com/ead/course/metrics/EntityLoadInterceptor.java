@@ -0,0 +1,32 @@
+package com.ead.course.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.type.Type;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+
+/**
+ * Registered as hibernate.session_factory.interceptor (see MetricsConfig), counts the entities hydrated from
+ * result sets or assembled from the second-level cache, by entity.
+ */
+@Component
+public class EntityLoadInterceptor extends EmptyInterceptor {
+    private static final long serialVersionUID = 1L;
+
+    private final transient QueryCounter queryCounter;
+    private final transient MeterRegistry meterRegistry;
+
+    public EntityLoadInterceptor(QueryCounter queryCounter, MeterRegistry meterRegistry) {
+        this.queryCounter = queryCounter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+        meterRegistry.counter("ead.hibernate.entities.loaded", "entity", entity.getClass().getSimpleName()).increment();
+        queryCounter.entityLoaded();
+        return false;
+    }
+}
@@ -0,0 +1,56 @@
+package com.ead.course.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public method of the controllers (ead.controller), services (ead.service) and the AuthUser
+ * client (ead.client), tagged by class, method and exception. Histograms are enabled for the ead prefix in
+ * application.yaml.
+ */
+@Aspect
+@Component
+public class MethodTimingAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    public MethodTimingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("within(com.ead.course.controllers..*)")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("ead.controller", joinPoint);
+    }
+
+    @Around("within(com.ead.course.services..*)")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("ead.service", joinPoint);
+    }
+
+    @Around("within(com.ead.course.clients..*)")
+    public Object timeClient(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("ead.client", joinPoint);
+    }
+
+    private Object time(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.ead.course.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of SQL statements a method may prepare, nested calls and the commit of its transaction
+ * included. Checked by {@link QueryBudgetAspect}: logged when exceeded, or failed with a
+ * {@link QueryBudgetExceededException} when ead.query-budget.mode is FAIL (used by the tests).
+ * Statements of a JDBC batch count once.
+ * <p>
+ * Statements are counted per thread, so the budget goes on the method that runs on the thread issuing them:
+ * a streaming response body is budgeted on the service method writing it, not on the controller. Methods whose
+ * statements grow with the size of the request (imports, bulk subscriptions) carry no budget.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    int value();
+}
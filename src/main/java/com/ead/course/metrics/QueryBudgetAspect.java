@@ -0,0 +1,70 @@
+package com.ead.course.metrics;
+
+import com.ead.course.enums.QueryBudgetMode;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs outside the transaction advice, so the statements flushed at commit are counted with the method.
+ */
+@Log4j2
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryBudgetAspect {
+
+    private final QueryCounter queryCounter;
+    private final MeterRegistry meterRegistry;
+    private final QueryBudgetMode mode;
+
+    public QueryBudgetAspect(QueryCounter queryCounter, MeterRegistry meterRegistry,
+                             @Value("${ead.query-budget.mode:LOG}") QueryBudgetMode mode) {
+        this.queryCounter = queryCounter;
+        this.meterRegistry = meterRegistry;
+        this.mode = mode;
+    }
+
+    @Around("@annotation(queryBudget)")
+    public Object checkBudget(ProceedingJoinPoint joinPoint, QueryBudget queryBudget) throws Throwable {
+        long before = queryCounter.getStatements();
+        Object result = joinPoint.proceed();
+        long statements = queryCounter.getStatements() - before;
+        if (statements > queryBudget.value()) {
+            String method = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+            meterRegistry.counter("ead.query.budget.exceeded", "method", method).increment();
+            String message = method + " prepared " + statements + " SQL statements, budget is " + queryBudget.value();
+            if (mode == QueryBudgetMode.FAIL) {
+                throw new QueryBudgetExceededException(message);
+            }
+            log.warn(message);
+        }
+        return result;
+    }
+
+    /**
+     * Statements per transactional service method, the transaction boundary being where an N+1 load usually
+     * hides behind a single repository call.
+     */
+    @Around("@annotation(org.springframework.transaction.annotation.Transactional) || @annotation(javax.transaction.Transactional)")
+    public Object countTransaction(ProceedingJoinPoint joinPoint) throws Throwable {
+        long before = queryCounter.getStatements();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            DistributionSummary.builder("ead.transaction.statements")
+                    .description("SQL statements prepared per transactional method")
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .register(meterRegistry)
+                    .record(queryCounter.getStatements() - before);
+        }
+    }
+}
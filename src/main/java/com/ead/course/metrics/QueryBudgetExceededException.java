@@ -0,0 +1,9 @@
+package com.ead.course.metrics;
+
+public class QueryBudgetExceededException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
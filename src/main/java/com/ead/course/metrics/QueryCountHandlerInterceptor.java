@@ -0,0 +1,63 @@
+package com.ead.course.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Records the SQL statements and entities loaded by each request, per controller method, as the
+ * ead.request.statements and ead.request.entities.loaded distribution summaries.
+ */
+@Log4j2
+@Component
+public class QueryCountHandlerInterceptor implements HandlerInterceptor {
+
+    private static final String STATEMENTS_ATTRIBUTE = QueryCountHandlerInterceptor.class.getName() + ".statements";
+    private static final String ENTITIES_LOADED_ATTRIBUTE = QueryCountHandlerInterceptor.class.getName() + ".entitiesLoaded";
+
+    private final QueryCounter queryCounter;
+    private final MeterRegistry meterRegistry;
+
+    public QueryCountHandlerInterceptor(QueryCounter queryCounter, MeterRegistry meterRegistry) {
+        this.queryCounter = queryCounter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(STATEMENTS_ATTRIBUTE, queryCounter.getStatements());
+        request.setAttribute(ENTITIES_LOADED_ATTRIBUTE, queryCounter.getEntitiesLoaded());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object statementsBefore = request.getAttribute(STATEMENTS_ATTRIBUTE);
+        Object entitiesLoadedBefore = request.getAttribute(ENTITIES_LOADED_ATTRIBUTE);
+        if (statementsBefore == null || entitiesLoadedBefore == null || !(handler instanceof HandlerMethod)) {
+            return;
+        }
+        long statements = queryCounter.getStatements() - (Long) statementsBefore;
+        long entitiesLoaded = queryCounter.getEntitiesLoaded() - (Long) entitiesLoadedBefore;
+
+        var handlerMethod = (HandlerMethod) handler;
+        String name = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        DistributionSummary.builder("ead.request.statements")
+                .description("SQL statements prepared per request")
+                .tag("handler", name)
+                .register(meterRegistry)
+                .record(statements);
+        DistributionSummary.builder("ead.request.entities.loaded")
+                .description("Entities loaded per request")
+                .tag("handler", name)
+                .register(meterRegistry)
+                .record(entitiesLoaded);
+        log.debug("{} {} - statements: {}, entities loaded: {}", request.getMethod(), name, statements, entitiesLoaded);
+    }
+}
@@ -0,0 +1,31 @@
+package com.ead.course.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registered as hibernate.session_factory.statement_inspector (see MetricsConfig), sees every SQL statement
+ * Hibernate prepares. With JDBC batching a batch of inserts is prepared, and counted, once.
+ */
+@Component
+public class QueryCountStatementInspector implements StatementInspector {
+
+    private final transient QueryCounter queryCounter;
+    private final transient Counter statements;
+
+    public QueryCountStatementInspector(QueryCounter queryCounter, MeterRegistry meterRegistry) {
+        this.queryCounter = queryCounter;
+        this.statements = Counter.builder("ead.hibernate.statements")
+                .description("SQL statements prepared by Hibernate")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        statements.increment();
+        queryCounter.statementIssued();
+        return sql;
+    }
+}
@@ -0,0 +1,35 @@
+package com.ead.course.metrics;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Running totals of the SQL statements prepared and entities loaded by the current thread. Callers measure a
+ * unit of work (a request, a transaction, a method with a query budget) as the difference between two reads
+ * of {@link #getStatements()}, so nested measurements do not interfere with each other.
+ */
+@Component
+public class QueryCounter {
+
+    private static final ThreadLocal<Counts> COUNTS = ThreadLocal.withInitial(Counts::new);
+
+    public long getStatements() {
+        return COUNTS.get().statements;
+    }
+
+    public long getEntitiesLoaded() {
+        return COUNTS.get().entitiesLoaded;
+    }
+
+    public void statementIssued() {
+        COUNTS.get().statements++;
+    }
+
+    public void entityLoaded() {
+        COUNTS.get().entitiesLoaded++;
+    }
+
+    private static class Counts {
+        private long statements;
+        private long entitiesLoaded;
+    }
+}
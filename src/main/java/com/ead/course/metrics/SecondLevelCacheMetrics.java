@@ -0,0 +1,44 @@
+package com.ead.course.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Hit ratio of every second-level cache region (ead.hibernate.cache.hit.ratio), next to the hit, miss and put
+ * counters that Spring Boot binds from the Hibernate statistics. Registered once every singleton exists, since
+ * the regions are only known after the session factory is built.
+ */
+@Component
+public class SecondLevelCacheMetrics implements SmartInitializingSingleton {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+
+    public SecondLevelCacheMetrics(EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            Gauge.builder("ead.hibernate.cache.hit.ratio", statistics, s -> hitRatio(s.getDomainDataRegionStatistics(region)))
+                    .description("Share of the second-level cache lookups answered by the region")
+                    .tag("region", region)
+                    .register(meterRegistry);
+        }
+    }
+
+    private static double hitRatio(CacheRegionStatistics region) {
+        long requests = region.getHitCount() + region.getMissCount();
+        return requests == 0 ? 0 : (double) region.getHitCount() / requests;
+    }
+}
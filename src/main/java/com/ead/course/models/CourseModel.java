@@ -3,11 +3,17 @@ package com.ead.course.models;
 import com.ead.course.enums.CourseLevel;
 import com.ead.course.enums.CourseStatus;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
+import lombok.ToString;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Fetch;
 import org.hibernate.annotations.FetchMode;
+import org.hibernate.annotations.GenericGenerator;
 
 import javax.persistence.*;
 import java.io.Serializable;
@@ -19,11 +25,13 @@ import java.util.UUID;
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @Entity
 @Table(name = "TB_COURSE")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class CourseModel implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = "uuid")
+    @GenericGenerator(name = "uuid", strategy = "org.hibernate.id.UUIDGenerator")
     private UUID courseId;
 
     @Column(nullable = false, length = 150)
@@ -43,6 +51,15 @@ public class CourseModel implements Serializable {
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
     private LocalDateTime lastUpdateDate;
 
+    /**
+     * Optimistic lock of the PUT endpoints, a write based on a stale read fails instead of overwriting. Not part
+     * of the body, clients see it through the ETag.
+     */
+    @Version
+    @JsonIgnore
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
     @Column(nullable = false)
     @Enumerated(EnumType.STRING)
     private CourseStatus courseStatus;
@@ -55,12 +72,35 @@ public class CourseModel implements Serializable {
     private UUID userInstructor;
 
     //WRITE ONLY disable serialization of the specific object below
+    @ToString.Exclude
     @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @OneToMany(mappedBy = "course", fetch = FetchType.LAZY)
     @Fetch(FetchMode.SUBSELECT)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Set<ModuleModel> modules;
 
+    @ToString.Exclude
     @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @OneToMany(mappedBy = "course", fetch = FetchType.LAZY)
     private Set<CourseUserModel> courseUsers;
+
+    /**
+     * Identity is the id alone, so equality and hashing never touch lazy associations. The hash code is
+     * constant per entity class to stay stable when the id is generated on persist.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) {
+            return false;
+        }
+        return courseId != null && courseId.equals(((CourseModel) o).getCourseId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
 }
@@ -0,0 +1,58 @@
+package com.ead.course.models;
+
+import com.ead.course.enums.OutboxEventType;
+import lombok.Data;
+import org.hibernate.annotations.GenericGenerator;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Notification to the AuthUser service written in the same transaction as the change that caused it,
+ * and delivered later by the outbox dispatcher.
+ */
+@Data
+@Entity
+@Table(name = "TB_OUTBOX_EVENT", indexes = @Index(name = "idx_outbox_event_course_id", columnList = "course_id, creation_date"))
+public class OutboxEventModel implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(generator = "uuid")
+    @GenericGenerator(name = "uuid", strategy = "org.hibernate.id.UUIDGenerator")
+    private UUID id;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private OutboxEventType eventType;
+
+    @Column(nullable = false)
+    private UUID courseId;
+
+    @Column
+    private UUID userId;
+
+    @Column(nullable = false)
+    private LocalDateTime creationDate;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptDate;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    /**
+     * Until when the dispatcher that claimed the event is sending it, null when not claimed.
+     */
+    @Column
+    private LocalDateTime leaseDate;
+
+    /**
+     * When the dispatcher gave up on the event (rejected by AuthUser or out of attempts), null while it is
+     * still to be sent. Parked events are kept for inspection and no longer hold back the events of their course.
+     */
+    @Column
+    private LocalDateTime parkedDate;
+}
@@ -0,0 +1,74 @@
+package com.ead.course.models;
+
+import com.ead.course.enums.UserStatus;
+import com.ead.course.enums.UserType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Local copy of the AuthUser fields displayed or checked by the course service, the id is the AuthUser one.
+ * syncDate records when the row was last written from AuthUser (event or fetch), in UTC.
+ * The id is assigned, so a new instance is persisted (a plain INSERT) instead of merged (a SELECT first).
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Entity
+@Table(name = "TB_USERS")
+public class UserModel implements Persistable<UUID>, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    private UUID userId;
+
+    @Column(nullable = false, length = 50)
+    private String email;
+
+    @Column(length = 150)
+    private String fullname;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private UserStatus userStatus;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private UserType userType;
+
+    @Column
+    private LocalDateTime syncDate;
+
+    /**
+     * False for an instance created in memory, it is then inserted. Set to true for a row read or stored, or
+     * by a caller that may hold an existing user, so the save is a merge.
+     */
+    @Transient
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private boolean persisted;
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+
+    @JsonIgnore
+    @Override
+    public UUID getId() {
+        return userId;
+    }
+
+    @JsonIgnore
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+}
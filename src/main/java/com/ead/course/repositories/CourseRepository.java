@@ -1,10 +1,42 @@
 package com.ead.course.repositories;
 
 import com.ead.course.models.CourseModel;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.UUID;
 
-public interface CourseRepository extends JpaRepository<CourseModel, UUID>, JpaSpecificationExecutor<CourseModel> {
+public interface CourseRepository extends JpaRepository<CourseModel, UUID>, JpaSpecificationExecutor<CourseModel>, KeysetSpecificationExecutor<CourseModel> {
+
+    /**
+     * Ranked catalog search backed by the GIN indexes of schema.sql: the full-text document (name and
+     * description) answers the prefix query, the trigram index on the name tolerates typos. Both sides are
+     * lower-cased and unaccented with the same expressions as the indexes, otherwise they are not used.
+     * Empty courseLevel/courseStatus disable the filter.
+     *
+     * @param tsQuery  prefix tsquery, e.g. "jav:* &amp; spr:*"
+     * @param term     the search term as typed, for the trigram similarity
+     * @param pageable page and size, the order is the rank
+     * @return the matching courses, best match first
+     */
+    @Query(value = "SELECT c.* FROM tb_course c " +
+            "WHERE (to_tsvector('simple', f_unaccent(lower(c.name || ' ' || c.description))) @@ to_tsquery('simple', f_unaccent(lower(:tsQuery))) " +
+            "OR f_unaccent(lower(c.name)) % f_unaccent(lower(:term))) " +
+            "AND (:courseLevel = '' OR c.course_level = :courseLevel) " +
+            "AND (:courseStatus = '' OR c.course_status = :courseStatus) " +
+            "ORDER BY ts_rank(to_tsvector('simple', f_unaccent(lower(c.name || ' ' || c.description))), to_tsquery('simple', f_unaccent(lower(:tsQuery)))) DESC, " +
+            "similarity(f_unaccent(lower(c.name)), f_unaccent(lower(:term))) DESC, c.course_id",
+            countQuery = "SELECT count(*) FROM tb_course c " +
+                    "WHERE (to_tsvector('simple', f_unaccent(lower(c.name || ' ' || c.description))) @@ to_tsquery('simple', f_unaccent(lower(:tsQuery))) " +
+                    "OR f_unaccent(lower(c.name)) % f_unaccent(lower(:term))) " +
+                    "AND (:courseLevel = '' OR c.course_level = :courseLevel) " +
+                    "AND (:courseStatus = '' OR c.course_status = :courseStatus)",
+            nativeQuery = true)
+    Page<CourseModel> search(@Param("tsQuery") String tsQuery, @Param("term") String term,
+                             @Param("courseLevel") String courseLevel, @Param("courseStatus") String courseStatus,
+                             Pageable pageable);
 }
@@ -3,19 +3,28 @@ package com.ead.course.repositories;
 import com.ead.course.models.CourseModel;
 import com.ead.course.models.CourseUserModel;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
-public interface CourseUserRepository extends JpaRepository<CourseUserModel, UUID> {
-    boolean existsByCourseAndUserId(CourseModel courseModel, UUID userId);
+public interface CourseUserRepository extends JpaRepository<CourseUserModel, UUID>, CourseUserRepositoryCustom {
+    @Query(value = "SELECT cu.userId FROM CourseUserModel cu WHERE cu.course = :course AND cu.userId IN :userIds")
+    List<UUID> findAllUserIdsIntoCourse(@Param("course") CourseModel course, @Param("userIds") Collection<UUID> userIds);
 
     @Query(value = "SELECT * FROM tb_course_users where course_id = :courseId", nativeQuery = true)
     List<CourseUserModel> findAllCourseUserIntoCourse(@Param("courseId") UUID courseId);
 
+    @Modifying
+    @Query("DELETE FROM CourseUserModel cu WHERE cu.course.courseId = :courseId")
+    int deleteAllCourseUserIntoCourse(@Param("courseId") UUID courseId);
+
     boolean existsByUserId(UUID userId);
 
+    long countByCourse(CourseModel courseModel);
+
     void deleteAllByUserId(UUID userId);
 }
@@ -0,0 +1,26 @@
+package com.ead.course.repositories;
+
+import com.ead.course.models.CourseUserModel;
+
+import java.util.List;
+
+public interface CourseUserRepositoryCustom {
+
+    /**
+     * Inserts the subscription unless the user is already registered in the course, in a single statement
+     * relying on the unique (course_id, user_id) constraint, so concurrent subscriptions of the same user
+     * never create duplicates nor fail.
+     *
+     * @param courseUser the subscription, its id is generated when null
+     * @return true if inserted, false if the user was already registered
+     */
+    boolean insertIfAbsent(CourseUserModel courseUser);
+
+    /**
+     * Same as {@link #insertIfAbsent(CourseUserModel)} for many subscriptions, sent as one JDBC batch.
+     *
+     * @param courseUsers the subscriptions, their ids are generated when null
+     * @return the subscriptions inserted, without those already registered
+     */
+    List<CourseUserModel> insertAllIfAbsent(List<CourseUserModel> courseUsers);
+}
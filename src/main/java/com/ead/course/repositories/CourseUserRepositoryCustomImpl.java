@@ -0,0 +1,62 @@
+package com.ead.course.repositories;
+
+import com.ead.course.models.CourseUserModel;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Plain JDBC on the connection of the current JPA transaction: a native DML statement executed by Hibernate
+ * would evict every region of the second-level cache.
+ */
+public class CourseUserRepositoryCustomImpl implements CourseUserRepositoryCustom {
+
+    private static final String INSERT_IF_ABSENT = "INSERT INTO tb_course_users (id, course_id, user_id) VALUES (?, ?, ?) " +
+            "ON CONFLICT (course_id, user_id) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CourseUserRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean insertIfAbsent(CourseUserModel courseUser) {
+        assignId(courseUser);
+        return jdbcTemplate.update(INSERT_IF_ABSENT, courseUser.getId(), courseUser.getCourse().getCourseId(), courseUser.getUserId()) > 0;
+    }
+
+    @Override
+    public List<CourseUserModel> insertAllIfAbsent(List<CourseUserModel> courseUsers) {
+        if (courseUsers.isEmpty()) {
+            return List.of();
+        }
+        // inserted in user id order, so concurrent batches wait on each other's keys in the same order instead of deadlocking
+        List<CourseUserModel> ordered = new ArrayList<>(courseUsers);
+        ordered.sort(Comparator.comparing(CourseUserModel::getUserId));
+        ordered.forEach(this::assignId);
+        int[][] updateCounts = jdbcTemplate.batchUpdate(INSERT_IF_ABSENT, ordered, ordered.size(), (ps, courseUser) -> {
+            ps.setObject(1, courseUser.getId());
+            ps.setObject(2, courseUser.getCourse().getCourseId());
+            ps.setObject(3, courseUser.getUserId());
+        });
+
+        // a single batch, a count of 0 is a conflict (SUCCESS_NO_INFO is only reported with reWriteBatchedInserts)
+        List<CourseUserModel> inserted = new ArrayList<>();
+        for (int i = 0; i < ordered.size(); i++) {
+            if (updateCounts[0][i] != 0) {
+                inserted.add(ordered.get(i));
+            }
+        }
+        return inserted;
+    }
+
+    private void assignId(CourseUserModel courseUser) {
+        if (courseUser.getId() == null) {
+            courseUser.setId(UUID.randomUUID());
+        }
+    }
+}
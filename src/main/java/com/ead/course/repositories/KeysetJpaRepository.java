@@ -0,0 +1,101 @@
+package com.ead.course.repositories;
+
+import com.ead.course.dtos.KeysetCursorDto;
+import com.ead.course.specifications.SpecificationTemplate;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+/**
+ * Base class of every repository (see CourseApplication), adds the keyset queries on top of SimpleJpaRepository.
+ */
+public class KeysetJpaRepository<T, ID extends Serializable> extends SimpleJpaRepository<T, ID> implements KeysetSpecificationExecutor<T> {
+
+    private final String idProperty;
+    private final EntityManager entityManager;
+
+    public KeysetJpaRepository(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityManager = entityManager;
+        this.idProperty = entityInformation.getIdAttribute().getName();
+    }
+
+    @Override
+    public <P> Slice<P> findAllAfter(Specification<T> spec, Pageable pageable, KeysetCursorDto cursor, Class<P> projection, String... properties) {
+        Sort.Order order = pageable.getSort().stream().findFirst().orElse(Sort.Order.asc(idProperty));
+        Sort sort = order.getProperty().equals(idProperty)
+                ? Sort.by(order.getDirection(), idProperty)
+                : Sort.by(order.getDirection(), order.getProperty(), idProperty);
+
+        Specification<T> where = Specification.where(spec);
+        if (cursor != null) {
+            if (!order.getProperty().equals(cursor.getSortProperty()) || order.getDirection() != cursor.getDirection()) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort");
+            }
+            where = where.and(SpecificationTemplate.keysetAfter(cursor, idProperty));
+        }
+
+        List<P> content = getProjectedQuery(where, sort, projection, properties).setMaxResults(pageable.getPageSize() + 1).getResultList();
+        boolean hasNext = content.size() > pageable.getPageSize();
+        if (hasNext) {
+            content = content.subList(0, pageable.getPageSize());
+        }
+        return new SliceImpl<>(content, PageRequest.of(0, pageable.getPageSize(), sort), hasNext);
+    }
+
+    @Override
+    public Stream<T> streamAll(Specification<T> spec, Sort sort, int fetchSize) {
+        return getQuery(spec, sort)
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public <P> Page<P> findAllProjected(Specification<T> spec, Pageable pageable, Class<P> projection, String... properties) {
+        TypedQuery<P> typedQuery = getProjectedQuery(spec, pageable.getSort(), projection, properties);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable,
+                () -> getCountQuery(spec, getDomainClass()).getResultList().stream().mapToLong(Long::longValue).sum());
+    }
+
+    private <P> TypedQuery<P> getProjectedQuery(Specification<T> spec, Sort sort, Class<P> projection, String... properties) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<P> query = cb.createQuery(projection);
+        Root<T> root = query.from(getDomainClass());
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.select(cb.construct(projection, Arrays.stream(properties).map(root::get).toArray(Selection[]::new)));
+        query.orderBy(toOrders(sort, root, cb));
+        return entityManager.createQuery(query);
+    }
+}
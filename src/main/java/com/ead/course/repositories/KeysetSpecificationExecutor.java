@@ -0,0 +1,57 @@
+package com.ead.course.repositories;
+
+import com.ead.course.dtos.KeysetCursorDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.lang.Nullable;
+
+import java.util.stream.Stream;
+
+@NoRepositoryBean
+public interface KeysetSpecificationExecutor<T> {
+
+    /**
+     * Seek pagination: returns the rows right after the cursor in the order of the first sort
+     * property of the pageable, tie-broken by the entity id. No COUNT query is issued and the
+     * page number of the pageable is ignored. The rows are projected as in findAllProjected, the
+     * properties must include the sort property and the id so the next cursor can be read back.
+     *
+     * @param spec       the filters, can be null
+     * @param pageable   the page size and sort
+     * @param cursor     the position of the last row of the previous slice, null for the first slice
+     * @param projection the DTO class
+     * @param properties the entity attributes passed to the constructor of the projection
+     * @return the slice, its pageable carries the effective sort (sort property followed by id)
+     */
+    <P> Slice<P> findAllAfter(@Nullable Specification<T> spec, Pageable pageable, @Nullable KeysetCursorDto cursor,
+                              Class<P> projection, String... properties);
+
+    /**
+     * Streams every row matching the filters through a forward-only cursor reading fetchSize rows per round
+     * trip. The entities are loaded read-only, the stream must be consumed inside a transaction and closed,
+     * and callers should detach the entities they are done with to keep the persistence context small.
+     *
+     * @param spec      the filters, can be null
+     * @param sort      the order of the rows
+     * @param fetchSize the number of rows fetched per round trip
+     * @return the matching rows
+     */
+    Stream<T> streamAll(@Nullable Specification<T> spec, Sort sort, int fetchSize);
+
+    /**
+     * Page of DTOs built from the given properties only, through the constructor of the projection taking them
+     * in the same order. Only these columns are selected and no entity is loaded into the persistence context.
+     * The COUNT query is skipped when the first page is not full.
+     *
+     * @param spec       the filters, can be null
+     * @param pageable   the page and sort, sorted on entity attributes
+     * @param projection the DTO class
+     * @param properties the entity attributes passed to the constructor of the projection
+     * @return the page of DTOs
+     */
+    <P> Page<P> findAllProjected(@Nullable Specification<T> spec, Pageable pageable, Class<P> projection, String... properties);
+}
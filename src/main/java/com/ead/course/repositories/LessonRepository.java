@@ -3,6 +3,7 @@ package com.ead.course.repositories;
 import com.ead.course.models.LessonModel;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -10,12 +11,17 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface LessonRepository extends JpaRepository<LessonModel, UUID>, JpaSpecificationExecutor<LessonModel> {
+public interface LessonRepository extends JpaRepository<LessonModel, UUID>, JpaSpecificationExecutor<LessonModel>, KeysetSpecificationExecutor<LessonModel> {
 
-    @Query(value = "SELECT * FROM tb_lesson WHERE module_module_id = :moduleId", nativeQuery = true)
+    @Query("SELECT l FROM LessonModel l WHERE l.module.moduleId = :moduleId")
     List<LessonModel> findAllLessonsIntoModule(@Param("moduleId") UUID moduleId);
 
-    @Query(value = "SELECT * FROM tb_lesson WHERE module_module_id = :moduleId AND lesson_id = :lessonId", nativeQuery = true)
-    Optional<LessonModel> findByLessonIntoModule(@Param("moduleId") UUID moduleId, @Param("lessonId") UUID lessonId);
+    default Optional<LessonModel> findByLessonIntoModule(UUID moduleId, UUID lessonId) {
+        return findById(lessonId).filter(lesson -> lesson.getModule().getModuleId().equals(moduleId));
+    }
+
+    @Modifying
+    @Query("DELETE FROM LessonModel l WHERE l.module.moduleId IN (SELECT m.moduleId FROM ModuleModel m WHERE m.course.courseId = :courseId)")
+    int deleteAllLessonsIntoCourse(@Param("courseId") UUID courseId);
 }
 
@@ -4,14 +4,19 @@ import com.ead.course.models.ModuleModel;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface ModuleRepository extends JpaRepository<ModuleModel, UUID>, JpaSpecificationExecutor<ModuleModel> {
+public interface ModuleRepository extends JpaRepository<ModuleModel, UUID>, JpaSpecificationExecutor<ModuleModel>, KeysetSpecificationExecutor<ModuleModel> {
 
     /**
      * With @EntityGraph annotation we can fetch associations like "course"
@@ -24,9 +29,38 @@ public interface ModuleRepository extends JpaRepository<ModuleModel, UUID>, JpaS
     @EntityGraph(attributePaths = "course")
     Optional<ModuleModel> findByTitle(String title);
 
-    @Query(value = "SELECT * FROM tb_module WHERE course_course_id = :courseId", nativeQuery = true)
+    @Query("SELECT m FROM ModuleModel m WHERE m.course.courseId = :courseId")
     List<ModuleModel> findAllModulesIntoCourse(@Param("courseId") UUID courseId);
 
-    @Query(value = "SELECT * FROM tb_module WHERE course_course_id = :courseId AND module_id = :moduleId", nativeQuery = true)
-    Optional<ModuleModel> findModuleIntoCourse(@Param("courseId") UUID courseId, @Param("moduleId") UUID moduleId);
+    /**
+     * Loaded by id so the second-level cache answers it, the course is checked on the foreign key held by the
+     * cached module without initializing the course.
+     *
+     * @param courseId the course id
+     * @param moduleId the module id
+     * @return the module if it belongs to the course
+     */
+    default Optional<ModuleModel> findModuleIntoCourse(UUID courseId, UUID moduleId) {
+        return findById(moduleId).filter(module -> module.getCourse().getCourseId().equals(courseId));
+    }
+
+    /**
+     * Streams the modules of a course paired with their lessons (null for a module without lessons), ordered so
+     * the lessons of a module come right after it. The rows are read through a server-side cursor in chunks of
+     * the fetch size, so the caller must consume the stream inside a transaction and close it.
+     *
+     * @param courseId the course id
+     * @return rows of [ModuleModel, LessonModel]
+     */
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+    })
+    @Query("SELECT m, l FROM ModuleModel m LEFT JOIN LessonModel l ON l.module = m WHERE m.course.courseId = :courseId " +
+            "ORDER BY m.creationDate, m.moduleId, l.creationDate, l.lessonId")
+    Stream<Object[]> streamModulesAndLessonsIntoCourse(@Param("courseId") UUID courseId);
+
+    @Modifying
+    @Query("DELETE FROM ModuleModel m WHERE m.course.courseId = :courseId")
+    int deleteAllModulesIntoCourse(@Param("courseId") UUID courseId);
 }
@@ -0,0 +1,31 @@
+package com.ead.course.repositories;
+
+import com.ead.course.models.OutboxEventModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEventModel, UUID> {
+
+    /**
+     * Locks the due events that are neither parked nor leased by a dispatcher, skipping the ones already locked
+     * by another instance. The subscriptions of a course are independent of each other and are all returned
+     * together, but never past an older pending course deletion, and a deletion is only returned once no older
+     * event of its course is pending. The NOT EXISTS probe runs on the (course_id, creation_date) index.
+     *
+     * @param now   the current date, events scheduled or leased after it are ignored
+     * @param limit the maximum number of events returned
+     * @return the locked events in creation order
+     */
+    @Query(value = "SELECT * FROM tb_outbox_event e " +
+            "WHERE e.parked_date IS NULL AND e.next_attempt_date <= :now AND (e.lease_date IS NULL OR e.lease_date <= :now) " +
+            "AND NOT EXISTS (SELECT 1 FROM tb_outbox_event older WHERE older.course_id = e.course_id " +
+            "AND (older.creation_date, older.id) < (e.creation_date, e.id) AND older.parked_date IS NULL " +
+            "AND (e.event_type = 'DELETE_COURSE_IN_AUTHUSER' OR older.event_type = 'DELETE_COURSE_IN_AUTHUSER')) " +
+            "ORDER BY e.creation_date LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEventModel> findPendingEventsForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
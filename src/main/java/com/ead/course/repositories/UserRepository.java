@@ -0,0 +1,19 @@
+package com.ead.course.repositories;
+
+import com.ead.course.dtos.UserSummaryDto;
+import com.ead.course.models.UserModel;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.UUID;
+
+public interface UserRepository extends JpaRepository<UserModel, UUID> {
+
+    @Query(value = "SELECT new com.ead.course.dtos.UserSummaryDto(u.userId, u.email, u.fullname, u.userStatus, u.userType) FROM UserModel u " +
+            "WHERE u.userId IN (SELECT cu.userId FROM CourseUserModel cu WHERE cu.course.courseId = :courseId)",
+            countQuery = "SELECT COUNT(u) FROM UserModel u WHERE u.userId IN (SELECT cu.userId FROM CourseUserModel cu WHERE cu.course.courseId = :courseId)")
+    Page<UserSummaryDto> findAllUsersIntoCourse(@Param("courseId") UUID courseId, Pageable pageable);
+}
@@ -0,0 +1,33 @@
+package com.ead.course.schedulers;
+
+import com.ead.course.services.OutboxEventService;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Log4j2
+@Component
+public class OutboxEventScheduler {
+
+    private final OutboxEventService outboxEventService;
+
+    public OutboxEventScheduler(OutboxEventService outboxEventService) {
+        this.outboxEventService = outboxEventService;
+    }
+
+    /**
+     * Drains the outbox batch by batch until no event is left to take, then waits for the next tick. Events
+     * held back behind an older event of their course come in a later batch of the same run.
+     */
+    @Scheduled(fixedDelayString = "${ead.outbox.dispatch-delay-ms}")
+    public void dispatchPendingEvents() {
+        try {
+            int taken;
+            do {
+                taken = outboxEventService.dispatchPendingEvents();
+            } while (taken > 0);
+        } catch (RuntimeException e) {
+            log.error("Error dispatching outbox events", e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.ead.course.services;
+
+import com.ead.course.dtos.CourseFilterDto;
+import com.ead.course.dtos.CourseSummaryDto;
+import com.ead.course.models.CourseModel;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+public interface CourseCatalogCacheService {
+    Page<CourseSummaryDto> findAll(CourseFilterDto filter, Pageable pageable, Supplier<Page<CourseSummaryDto>> loader);
+
+    void evictCourse(CourseModel course);
+
+    void evictUser(UUID userId);
+}
@@ -1,5 +1,9 @@
 package com.ead.course.services;
 
+import com.ead.course.dtos.CourseSummaryDto;
+import com.ead.course.dtos.CursorPageDto;
+import com.ead.course.enums.CourseLevel;
+import com.ead.course.enums.CourseStatus;
 import com.ead.course.models.CourseModel;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -15,5 +19,11 @@ public interface CourseService {
 
     Optional<CourseModel> findById(UUID id);
 
-    Page<CourseModel> findAll(Specification<CourseModel> spec, Pageable pageable);
+    Optional<CourseModel> findCourseTreeById(UUID id);
+
+    Page<CourseSummaryDto> findAll(Specification<CourseModel> spec, Pageable pageable);
+
+    CursorPageDto<CourseSummaryDto> findAll(Specification<CourseModel> spec, Pageable pageable, String cursor);
+
+    Page<CourseSummaryDto> search(String term, CourseLevel courseLevel, CourseStatus courseStatus, Pageable pageable);
 }
@@ -0,0 +1,20 @@
+package com.ead.course.services;
+
+import com.ead.course.enums.ExportFormat;
+import com.ead.course.models.CourseModel;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.UUID;
+
+public interface CourseStreamService {
+
+    CourseModel importCourse(InputStream inputStream) throws IOException;
+
+    void exportCourse(UUID courseId, OutputStream outputStream) throws IOException;
+
+    void exportCourses(Specification<CourseModel> spec, Sort sort, ExportFormat format, OutputStream outputStream) throws IOException;
+}
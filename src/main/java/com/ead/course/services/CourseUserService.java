@@ -3,16 +3,24 @@ package com.ead.course.services;
 import com.ead.course.models.CourseModel;
 import com.ead.course.models.CourseUserModel;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface CourseUserService {
-    boolean existsByCourseAndUserId(CourseModel courseModel, UUID userId);
-
     CourseUserModel save(CourseUserModel courseUserModel);
 
-    CourseUserModel saveAndSendSubscriptionUserInCourse(CourseUserModel courseUserModel);
+    Optional<CourseUserModel> saveAndSendSubscriptionUserInCourse(CourseUserModel courseUserModel);
+
+    Set<UUID> findAllUserIdsIntoCourse(CourseModel courseModel, Collection<UUID> userIds);
+
+    List<CourseUserModel> saveAllAndSendSubscriptionUsersInCourse(List<CourseUserModel> courseUserModels);
 
     boolean existsByUserId(UUID userId);
 
+    long countByCourse(CourseModel courseModel);
+
     void deleteCourseUserByUser(UUID userId);
 }
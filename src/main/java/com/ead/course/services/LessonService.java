@@ -1,5 +1,7 @@
 package com.ead.course.services;
 
+import com.ead.course.dtos.CursorPageDto;
+import com.ead.course.dtos.LessonSummaryDto;
 import com.ead.course.models.LessonModel;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -18,5 +20,7 @@ public interface LessonService {
 
     List<LessonModel> findAllByModule(UUID moduleId);
 
-    Page<LessonModel> findAllByModule(Specification<LessonModel> spec, Pageable pageable);
+    Page<LessonSummaryDto> findAllByModule(Specification<LessonModel> spec, Pageable pageable);
+
+    CursorPageDto<LessonSummaryDto> findAllByModule(Specification<LessonModel> spec, Pageable pageable, String cursor);
 }
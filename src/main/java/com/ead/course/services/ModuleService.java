@@ -1,5 +1,7 @@
 package com.ead.course.services;
 
+import com.ead.course.dtos.CursorPageDto;
+import com.ead.course.dtos.ModuleSummaryDto;
 import com.ead.course.models.ModuleModel;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -20,5 +22,7 @@ public interface ModuleService {
 
     Optional<ModuleModel> findById(UUID moduleId);
 
-    Page<ModuleModel> findAllByCourse(Specification<ModuleModel> spec, Pageable pageable);
+    Page<ModuleSummaryDto> findAllByCourse(Specification<ModuleModel> spec, Pageable pageable);
+
+    CursorPageDto<ModuleSummaryDto> findAllByCourse(Specification<ModuleModel> spec, Pageable pageable, String cursor);
 }
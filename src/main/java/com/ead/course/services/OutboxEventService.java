@@ -0,0 +1,11 @@
+package com.ead.course.services;
+
+import java.util.UUID;
+
+public interface OutboxEventService {
+    void saveSubscriptionUserInCourse(UUID courseId, UUID userId);
+
+    void saveDeleteCourseInAuthUser(UUID courseId);
+
+    int dispatchPendingEvents();
+}
@@ -0,0 +1,26 @@
+package com.ead.course.services;
+
+import com.ead.course.dtos.UserDto;
+import com.ead.course.dtos.UserSummaryDto;
+import com.ead.course.models.UserModel;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface UserService {
+    UserModel save(UserDto userDto);
+
+    void delete(UUID userId);
+
+    Optional<UserModel> findById(UUID userId);
+
+    Map<UUID, Optional<UserModel>> findOrFetchAllByIds(Collection<UUID> userIds);
+
+    Optional<UserModel> findOrFetchById(UUID userId);
+
+    Page<UserSummaryDto> findAllUsersIntoCourse(UUID courseId, Pageable pageable);
+}
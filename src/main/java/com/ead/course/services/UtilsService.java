@@ -1,10 +1,25 @@
 package com.ead.course.services;
 
+import com.ead.course.dtos.CursorPageDto;
+import com.ead.course.dtos.KeysetCursorDto;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.UUID;
 
 public interface UtilsService {
 
     String createUrlGetAllUsersByCourse(UUID courseId, Pageable pageable);
+
+    KeysetCursorDto readCursor(String cursor, Pageable pageable, Map<String, Class<?>> sortableProperties);
+
+    <T> CursorPageDto<T> createCursorPage(Slice<T> slice);
+
+    String createETag(long version);
+
+    String createETag(LocalDateTime lastUpdateDate);
+
+    boolean matchesIfMatch(String ifMatch, String eTag);
 }
@@ -0,0 +1,139 @@
+package com.ead.course.services.impl;
+
+import com.ead.course.dtos.CourseFilterDto;
+import com.ead.course.dtos.CourseSummaryDto;
+import com.ead.course.enums.CourseLevel;
+import com.ead.course.enums.CourseStatus;
+import com.ead.course.models.CourseModel;
+import com.ead.course.services.CourseCatalogCacheService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through cache of the catalog pages (GET /api/v1/courses). On every write only the pages whose filter
+ * could contain the course are evicted, the other filters keep their entries.
+ */
+@Log4j2
+@Service
+public class CourseCatalogCacheServiceImpl implements CourseCatalogCacheService {
+
+    private final Cache<CatalogKey, CachedPage> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Timer staleness;
+    private final Counter evictions;
+
+    public CourseCatalogCacheServiceImpl(@Value("${ead.cache.catalog.spec}") String spec,
+                                         MeterRegistry meterRegistry) {
+        this.cache = Caffeine.from(spec).build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "courseCatalog");
+        this.staleness = Timer.builder("course.catalog.cache.staleness")
+                .description("Age of the catalog pages served from the cache")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.evictions = Counter.builder("course.catalog.cache.invalidations")
+                .description("Catalog pages evicted because a course or a subscription changed")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Page<CourseSummaryDto> findAll(CourseFilterDto filter, Pageable pageable, Supplier<Page<CourseSummaryDto>> loader) {
+        var key = new CatalogKey(filter.getCourseLevel(), filter.getCourseStatus(), nameFilter(filter.getName()), filter.getUserId(),
+                pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().toString());
+
+        CachedPage cached = cache.getIfPresent(key);
+        if (cached != null) {
+            staleness.record(System.nanoTime() - cached.getLoadedAt(), TimeUnit.NANOSECONDS);
+            return cached.getPage();
+        }
+
+        // a write during the load may have invalidated what the loader read, the page is then served but not cached
+        long invalidationsBeforeLoad = invalidations.get();
+        Page<CourseSummaryDto> page = loader.get();
+        if (invalidationsBeforeLoad == invalidations.get()) {
+            cache.put(key, new CachedPage(page, System.nanoTime()));
+        }
+        return page;
+    }
+
+    /**
+     * Must be called with the state of the course before and after the write, so that pages that
+     * stop matching and pages that start matching are both evicted.
+     *
+     * @param course the course written
+     */
+    @Override
+    public void evictCourse(CourseModel course) {
+        evictMatching(key -> key.matches(course));
+    }
+
+    @Override
+    public void evictUser(UUID userId) {
+        evictMatching(key -> userId.equals(key.getUserId()));
+    }
+
+    private void evictMatching(Predicate<CatalogKey> predicate) {
+        invalidations.incrementAndGet();
+        List<CatalogKey> keys = cache.asMap().keySet().stream().filter(predicate).collect(Collectors.toList());
+        cache.invalidateAll(keys);
+        evictions.increment(keys.size());
+        log.debug("Catalog cache pages evicted: {}", keys.size());
+    }
+
+    /**
+     * The key holds exactly the value CourseSpec filters on: the Like spec runs on the raw parameter and is only
+     * skipped when the parameter is absent or empty, so blanks and surrounding spaces are part of the filter.
+     */
+    private static String nameFilter(String name) {
+        return name == null || name.isEmpty() ? null : name;
+    }
+
+    @Data
+    @AllArgsConstructor
+    private static class CatalogKey {
+        private final CourseLevel courseLevel;
+        private final CourseStatus courseStatus;
+        private final String name;
+        private final UUID userId;
+        private final int page;
+        private final int size;
+        private final String sort;
+
+        /**
+         * May match more pages than the filter would return, never less: the containment check ignores case
+         * while the Like spec does not, and a name holding a LIKE wildcard (% or _) matches every course.
+         */
+        boolean matches(CourseModel course) {
+            return (courseLevel == null || courseLevel == course.getCourseLevel())
+                    && (courseStatus == null || courseStatus == course.getCourseStatus())
+                    && (name == null || course.getName() == null || name.indexOf('%') >= 0 || name.indexOf('_') >= 0
+                    || course.getName().toLowerCase(Locale.ROOT).contains(name.toLowerCase(Locale.ROOT)));
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    private static class CachedPage {
+        private final Page<CourseSummaryDto> page;
+        private final long loadedAt;
+    }
+}
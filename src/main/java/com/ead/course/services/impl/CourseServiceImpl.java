@@ -1,66 +1,86 @@
 package com.ead.course.services.impl;
 
-import com.ead.course.clients.AuthUserClient;
+import com.ead.course.dtos.CourseSummaryDto;
+import com.ead.course.dtos.CursorPageDto;
+import com.ead.course.enums.CourseLevel;
+import com.ead.course.enums.CourseStatus;
 import com.ead.course.models.CourseModel;
-import com.ead.course.models.CourseUserModel;
-import com.ead.course.models.LessonModel;
-import com.ead.course.models.ModuleModel;
 import com.ead.course.repositories.CourseRepository;
 import com.ead.course.repositories.CourseUserRepository;
 import com.ead.course.repositories.LessonRepository;
 import com.ead.course.repositories.ModuleRepository;
 import com.ead.course.services.CourseService;
+import com.ead.course.services.OutboxEventService;
+import com.ead.course.services.UtilsService;
+import lombok.extern.log4j.Log4j2;
+import org.hibernate.Hibernate;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
+@Log4j2
 @Service
 public class CourseServiceImpl implements CourseService {
 
+    /**
+     * The attributes a cursor page can be sorted on.
+     */
+    private static final Map<String, Class<?>> CURSOR_SORT_PROPERTIES = Map.of(
+            "courseId", UUID.class,
+            "name", String.class,
+            "creationDate", LocalDateTime.class,
+            "lastUpdateDate", LocalDateTime.class);
+
     private final CourseRepository courseRepository;
     private final ModuleRepository moduleRepository;
     private final LessonRepository lessonRepository;
     private final CourseUserRepository courseUserRepository;
-    private final AuthUserClient authUserClient;
+    private final OutboxEventService outboxEventService;
+    private final UtilsService utilsService;
 
-    public CourseServiceImpl(CourseRepository courseRepository, ModuleRepository moduleRepository, LessonRepository lessonRepository, CourseUserRepository courseUserRepository, AuthUserClient authUserClient) {
+    public CourseServiceImpl(CourseRepository courseRepository, ModuleRepository moduleRepository, LessonRepository lessonRepository, CourseUserRepository courseUserRepository, OutboxEventService outboxEventService, UtilsService utilsService) {
         this.courseRepository = courseRepository;
         this.moduleRepository = moduleRepository;
         this.lessonRepository = lessonRepository;
         this.courseUserRepository = courseUserRepository;
-        this.authUserClient = authUserClient;
+        this.outboxEventService = outboxEventService;
+        this.utilsService = utilsService;
     }
 
+    /**
+     * Removes the course and everything hanging from it with set-based DELETE statements keyed by
+     * the course id, instead of loading every module and lesson and deleting them one by one.
+     * A JPQL bulk DELETE can not tell which rows it removed, so Hibernate invalidates the whole
+     * LessonModel and ModuleModel entity regions and the modules and lessons collection regions of
+     * the second-level cache. Course deletion is rare enough that refilling those regions is cheaper
+     * than reading and deleting every row as an entity.
+     *
+     * @param courseModel the course to be deleted
+     */
     @Transactional
     @Override
     public void delete(CourseModel courseModel) {
-        boolean deleteCourseUserInAuthUser = false;
-        List<ModuleModel> modules = moduleRepository.findAllModulesIntoCourse(courseModel.getCourseId());
-        if (!modules.isEmpty()) {
-            for (ModuleModel module : modules) {
-                List<LessonModel> lessons = lessonRepository.findAllLessonsIntoModule(module.getModuleId());
-                if (!lessons.isEmpty()) {
-                    lessonRepository.deleteAll(lessons);
-                }
-            }
-            moduleRepository.deleteAll(modules);
-        }
-
-        List<CourseUserModel> courseUserModel = courseUserRepository.findAllCourseUserIntoCourse(courseModel.getCourseId());
-        if (!courseUserModel.isEmpty()) {
-            deleteCourseUserInAuthUser = true;
-            courseUserRepository.deleteAll(courseUserModel);
-        }
+        UUID courseId = courseModel.getCourseId();
+        int lessonsDeleted = lessonRepository.deleteAllLessonsIntoCourse(courseId);
+        int modulesDeleted = moduleRepository.deleteAllModulesIntoCourse(courseId);
+        int courseUsersDeleted = courseUserRepository.deleteAllCourseUserIntoCourse(courseId);
         courseRepository.delete(courseModel);
 
-        if (deleteCourseUserInAuthUser) {
-            authUserClient.deleteCourseInAuthUser(courseModel.getCourseId());
+        log.info("Course {} deleted - lessons: {}, modules: {}, course users: {}", courseId, lessonsDeleted, modulesDeleted, courseUsersDeleted);
+
+        if (courseUsersDeleted > 0) {
+            outboxEventService.saveDeleteCourseInAuthUser(courseId);
         }
     }
 
@@ -74,8 +94,57 @@ public class CourseServiceImpl implements CourseService {
         return courseRepository.findById(id);
     }
 
+    /**
+     * Loads the course with its modules and lessons in three queries: the course, its modules and,
+     * through the FetchMode.SUBSELECT mapping of ModuleModel.lessons, the lessons of all modules at once.
+     *
+     * @param id the course id
+     * @return the course with modules and lessons initialized
+     */
+    @Transactional
+    @Override
+    public Optional<CourseModel> findCourseTreeById(UUID id) {
+        Optional<CourseModel> possibleCourse = courseRepository.findById(id);
+        possibleCourse.ifPresent(course -> course.getModules().forEach(module -> Hibernate.initialize(module.getLessons())));
+        return possibleCourse;
+    }
+
+    @Override
+    public Page<CourseSummaryDto> findAll(Specification<CourseModel> spec, Pageable pageable) {
+        return courseRepository.findAllProjected(spec, pageable, CourseSummaryDto.class, CourseSummaryDto.PROPERTIES);
+    }
+
     @Override
-    public Page<CourseModel> findAll(Specification<CourseModel> spec, Pageable pageable) {
-        return courseRepository.findAll(spec, pageable);
+    public CursorPageDto<CourseSummaryDto> findAll(Specification<CourseModel> spec, Pageable pageable, String cursor) {
+        return utilsService.createCursorPage(courseRepository.findAllAfter(spec, pageable, utilsService.readCursor(cursor, pageable, CURSOR_SORT_PROPERTIES),
+                CourseSummaryDto.class, CourseSummaryDto.PROPERTIES));
+    }
+
+    /**
+     * Every word of the term is matched as a prefix (as-you-type), words are split on anything that is not a
+     * letter or digit so the tsquery syntax can not be injected. The pageable sort is ignored, results are
+     * ordered by rank.
+     *
+     * @param term the search term
+     * @param courseLevel optional filter
+     * @param courseStatus optional filter
+     * @param pageable page and size
+     * @return the summaries of the matching courses, best match first, empty when the term has no words
+     */
+    @Override
+    public Page<CourseSummaryDto> search(String term, CourseLevel courseLevel, CourseStatus courseStatus, Pageable pageable) {
+        String tsQuery = Arrays.stream(term.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+        if (tsQuery.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        return courseRepository.search(tsQuery, term.trim(),
+                courseLevel != null ? courseLevel.name() : "",
+                courseStatus != null ? courseStatus.name() : "",
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()))
+                .map(course -> new CourseSummaryDto(course.getCourseId(), course.getName(), course.getDescription(), course.getImageUrl(),
+                        course.getCreationDate(), course.getLastUpdateDate(), course.getCourseStatus(), course.getCourseLevel(), course.getUserInstructor()));
     }
 }
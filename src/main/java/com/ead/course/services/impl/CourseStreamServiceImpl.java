@@ -0,0 +1,343 @@
+package com.ead.course.services.impl;
+
+import com.ead.course.dtos.CourseDto;
+import com.ead.course.dtos.CourseStreamLineDto;
+import com.ead.course.dtos.LessonDto;
+import com.ead.course.dtos.ModuleDto;
+import com.ead.course.enums.CourseStreamLineType;
+import com.ead.course.enums.ExportFormat;
+import com.ead.course.metrics.QueryBudget;
+import com.ead.course.models.CourseModel;
+import com.ead.course.models.LessonModel;
+import com.ead.course.models.ModuleModel;
+import com.ead.course.repositories.CourseRepository;
+import com.ead.course.repositories.ModuleRepository;
+import com.ead.course.services.CourseService;
+import com.ead.course.services.CourseStreamService;
+import com.ead.course.validation.CourseValidator;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.ObjectError;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Log4j2
+@Service
+public class CourseStreamServiceImpl implements CourseStreamService {
+
+    private final CourseService courseService;
+    private final CourseRepository courseRepository;
+    private final ModuleRepository moduleRepository;
+    private final CourseValidator courseValidator;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${ead.course.stream.batch-size}")
+    private int batchSize;
+
+    @Value("${ead.course.stream.fetch-size}")
+    private int fetchSize;
+
+    public CourseStreamServiceImpl(CourseService courseService, CourseRepository courseRepository, ModuleRepository moduleRepository,
+                                   CourseValidator courseValidator, Validator validator, ObjectMapper objectMapper,
+                                   PlatformTransactionManager transactionManager) {
+        this.courseService = courseService;
+        this.courseRepository = courseRepository;
+        this.moduleRepository = moduleRepository;
+        this.courseValidator = courseValidator;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Reads the stream one line at a time and persists modules and lessons in transactions of
+     * ead.course.stream.batch-size rows, so neither the request nor the persistence context holds the whole
+     * tree. The course is saved first, if a later line is invalid everything imported is removed again.
+     *
+     * @param inputStream the course stream, see {@link CourseStreamLineDto}
+     * @return the imported course
+     * @throws IllegalArgumentException if a line is malformed, invalid or out of order
+     */
+    @Override
+    public CourseModel importCourse(InputStream inputStream) throws IOException {
+        try (MappingIterator<CourseStreamLineDto> lines = objectMapper.readerFor(CourseStreamLineDto.class).readValues(inputStream)) {
+            if (!hasNextLine(lines)) {
+                throw new IllegalArgumentException("Empty course stream");
+            }
+            CourseStreamLineDto line = nextLine(lines);
+            if (line.getType() != CourseStreamLineType.COURSE || line.getCourse() == null) {
+                throw new IllegalArgumentException("The course stream must start with a COURSE line");
+            }
+            CourseModel course = saveCourse(line.getCourse());
+            try {
+                importModulesAndLessons(course, lines);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Course import, courseId {} - FAILED, removing imported rows", course.getCourseId());
+                courseService.delete(course);
+                throw e;
+            }
+            return course;
+        }
+    }
+
+    /**
+     * Writes the course followed by each module and its lessons, in creation order. Modules and lessons are read
+     * through a database cursor and detached once written, so memory stays flat whatever the course size.
+     *
+     * @param courseId the course id
+     * @param outputStream the response stream, left open
+     */
+    @QueryBudget(2)
+    @Override
+    public void exportCourse(UUID courseId, OutputStream outputStream) throws IOException {
+        SequenceWriter writer = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n")
+                .writeValues(outputStream);
+        try {
+            readOnlyTransactionTemplate.executeWithoutResult(status -> {
+                CourseModel course = courseService.findById(courseId)
+                        .orElseThrow(() -> new IllegalArgumentException("Course not found"));
+                var courseDto = new CourseDto();
+                BeanUtils.copyProperties(course, courseDto);
+                write(writer, new CourseStreamLineDto(CourseStreamLineType.COURSE, courseDto, null, null));
+
+                try (Stream<Object[]> rows = moduleRepository.streamModulesAndLessonsIntoCourse(courseId)) {
+                    ModuleModel currentModule = null;
+                    Iterator<Object[]> iterator = rows.iterator();
+                    while (iterator.hasNext()) {
+                        Object[] row = iterator.next();
+                        var module = (ModuleModel) row[0];
+                        if (module != currentModule) {
+                            if (currentModule != null) {
+                                entityManager.detach(currentModule);
+                            }
+                            currentModule = module;
+                            var moduleDto = new ModuleDto();
+                            BeanUtils.copyProperties(module, moduleDto);
+                            write(writer, new CourseStreamLineDto(CourseStreamLineType.MODULE, null, moduleDto, null));
+                        }
+                        if (row[1] != null) {
+                            var lesson = (LessonModel) row[1];
+                            var lessonDto = new LessonDto();
+                            BeanUtils.copyProperties(lesson, lessonDto);
+                            write(writer, new CourseStreamLineDto(CourseStreamLineType.LESSON, null, null, lessonDto));
+                            entityManager.detach(lesson);
+                        }
+                    }
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.close();
+        outputStream.write('\n');
+        outputStream.flush();
+    }
+
+    /**
+     * Writes every course matching the filters, one JSON object (same representation as GET /courses/{id}) or
+     * CSV record per course. Courses are read through a forward-only cursor of ead.course.stream.fetch-size rows
+     * and detached once written, no COUNT is issued and the heap does not grow with the catalog size.
+     *
+     * @param spec the filters, can be null
+     * @param sort the order of the courses
+     * @param format NDJSON or CSV
+     * @param outputStream the response stream, left open
+     */
+    @QueryBudget(1)
+    @Override
+    public void exportCourses(Specification<CourseModel> spec, Sort sort, ExportFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write("courseId,name,description,imageUrl,creationDate,lastUpdateDate,courseStatus,courseLevel,userInstructor\n");
+        }
+        try {
+            readOnlyTransactionTemplate.executeWithoutResult(status -> {
+                try (Stream<CourseModel> courses = courseRepository.streamAll(spec, sort, fetchSize)) {
+                    Iterator<CourseModel> iterator = courses.iterator();
+                    while (iterator.hasNext()) {
+                        CourseModel course = iterator.next();
+                        if (format == ExportFormat.CSV) {
+                            writer.write(toCsv(course.getCourseId(), course.getName(), course.getDescription(), course.getImageUrl(),
+                                    course.getCreationDate(), course.getLastUpdateDate(), course.getCourseStatus(),
+                                    course.getCourseLevel(), course.getUserInstructor()));
+                        } else {
+                            writer.write(objectMapper.writeValueAsString(course));
+                        }
+                        writer.write('\n');
+                        entityManager.detach(course);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private CourseModel saveCourse(CourseDto courseDto) {
+        Errors errors = new BeanPropertyBindingResult(courseDto, "course");
+        courseValidator.validate(courseDto, errors);
+        if (errors.hasErrors()) {
+            throw new IllegalArgumentException("Invalid COURSE line: " + errors.getAllErrors().stream()
+                    .map(ObjectError::getDefaultMessage)
+                    .collect(Collectors.joining(", ")));
+        }
+
+        var course = new CourseModel();
+        BeanUtils.copyProperties(courseDto, course);
+        course.setCreationDate(LocalDateTime.now(ZoneId.of("UTC")));
+        course.setLastUpdateDate(LocalDateTime.now(ZoneId.of("UTC")));
+        return courseService.save(course);
+    }
+
+    /**
+     * Creation dates are spaced one microsecond apart (the timestamp precision of the database), so the
+     * creationDate ordering used by the tree and the export keeps the order of the imported lines.
+     */
+    private void importModulesAndLessons(CourseModel course, MappingIterator<CourseStreamLineDto> lines) throws IOException {
+        var creationDate = LocalDateTime.now(ZoneId.of("UTC"));
+        List<Object> pending = new ArrayList<>(batchSize);
+        ModuleModel module = null;
+        int modules = 0;
+        int lessons = 0;
+
+        while (hasNextLine(lines)) {
+            CourseStreamLineDto line = nextLine(lines);
+            int lineNumber = lines.getCurrentLocation().getLineNr();
+            creationDate = creationDate.plusNanos(1000);
+            if (line.getType() == CourseStreamLineType.MODULE && line.getModule() != null) {
+                validate(line.getModule(), line.getType(), lineNumber);
+                module = new ModuleModel();
+                BeanUtils.copyProperties(line.getModule(), module);
+                module.setCreationDate(creationDate);
+                module.setCourse(course);
+                pending.add(module);
+                modules++;
+            } else if (line.getType() == CourseStreamLineType.LESSON && line.getLesson() != null && module != null) {
+                validate(line.getLesson(), line.getType(), lineNumber);
+                var lesson = new LessonModel();
+                BeanUtils.copyProperties(line.getLesson(), lesson);
+                lesson.setCreationDate(creationDate);
+                lesson.setModule(module);
+                pending.add(lesson);
+                lessons++;
+            } else {
+                throw new IllegalArgumentException("Unexpected " + line.getType() + " line at line " + lineNumber);
+            }
+
+            if (pending.size() >= batchSize) {
+                persist(pending);
+                pending.clear();
+            }
+        }
+        persist(pending);
+        log.info("Course import, courseId {} - modules: {}, lessons: {}", course.getCourseId(), modules, lessons);
+    }
+
+    private void persist(List<Object> entities) {
+        if (entities.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            entities.forEach(entityManager::persist);
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    private <T> void validate(T dto, CourseStreamLineType type, int lineNumber) {
+        Set<ConstraintViolation<T>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException("Invalid " + type + " line at line " + lineNumber + ": " + violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+
+    private boolean hasNextLine(MappingIterator<CourseStreamLineDto> lines) throws IOException {
+        try {
+            return lines.hasNextValue();
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed course stream at line " + lines.getCurrentLocation().getLineNr());
+        }
+    }
+
+    private CourseStreamLineDto nextLine(MappingIterator<CourseStreamLineDto> lines) throws IOException {
+        try {
+            return lines.nextValue();
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed course stream at line " + lines.getCurrentLocation().getLineNr());
+        }
+    }
+
+    private String toCsv(Object... values) {
+        var record = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                record.append(',');
+            }
+            String value = Objects.toString(values[i], "");
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                value = '"' + value.replace("\"", "\"\"") + '"';
+            }
+            record.append(value);
+        }
+        return record.toString();
+    }
+
+    private void write(SequenceWriter writer, CourseStreamLineDto line) {
+        try {
+            writer.write(line);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,42 +1,71 @@
 package com.ead.course.services.impl;
 
-import com.ead.course.clients.AuthUserClient;
 import com.ead.course.models.CourseModel;
 import com.ead.course.models.CourseUserModel;
 import com.ead.course.repositories.CourseUserRepository;
 import com.ead.course.services.CourseUserService;
+import com.ead.course.services.OutboxEventService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 public class CourseUserServiceImpl implements CourseUserService {
 
-    private final AuthUserClient authUserClient;
     private final CourseUserRepository courseUserRepository;
+    private final OutboxEventService outboxEventService;
 
-    public CourseUserServiceImpl(AuthUserClient authUserClient, CourseUserRepository courseUserRepository) {
-        this.authUserClient = authUserClient;
+    public CourseUserServiceImpl(CourseUserRepository courseUserRepository, OutboxEventService outboxEventService) {
         this.courseUserRepository = courseUserRepository;
+        this.outboxEventService = outboxEventService;
     }
 
     @Override
-    public boolean existsByCourseAndUserId(CourseModel courseModel, UUID userId) {
-        return courseUserRepository.existsByCourseAndUserId(courseModel, userId);
+    public CourseUserModel save(CourseUserModel courseUserModel) {
+        return courseUserRepository.save(courseUserModel);
     }
 
+    /**
+     * Subscribes the user with a single insert that detects an existing subscription itself, instead of a
+     * lookup followed by an insert that concurrent requests could both pass.
+     *
+     * @param courseUserModel the subscription
+     * @return the saved subscription, empty when the user was already registered in the course
+     */
+    @Transactional
     @Override
-    public CourseUserModel save(CourseUserModel courseUserModel) {
-        return courseUserRepository.save(courseUserModel);
+    public Optional<CourseUserModel> saveAndSendSubscriptionUserInCourse(CourseUserModel courseUserModel) {
+        if (!courseUserRepository.insertIfAbsent(courseUserModel)) {
+            return Optional.empty();
+        }
+        outboxEventService.saveSubscriptionUserInCourse(courseUserModel.getCourse().getCourseId(), courseUserModel.getUserId());
+        return Optional.of(courseUserModel);
     }
 
+    @Override
+    public Set<UUID> findAllUserIdsIntoCourse(CourseModel courseModel, Collection<UUID> userIds) {
+        return new HashSet<>(courseUserRepository.findAllUserIdsIntoCourse(courseModel, userIds));
+    }
+
+    /**
+     * Inserts all subscriptions in a single transaction and JDBC batch, skipping the users registered in the
+     * meantime by a concurrent request.
+     *
+     * @param courseUserModels the subscriptions of a course
+     * @return the saved subscriptions, without those already registered
+     */
     @Transactional
     @Override
-    public CourseUserModel saveAndSendSubscriptionUserInCourse(CourseUserModel courseUserModel) {
-        courseUserModel = courseUserRepository.save(courseUserModel);
-        authUserClient.postSubscriptionUserInCourse(courseUserModel.getCourse().getCourseId(), courseUserModel.getUserId());
-        return courseUserModel;
+    public List<CourseUserModel> saveAllAndSendSubscriptionUsersInCourse(List<CourseUserModel> courseUserModels) {
+        List<CourseUserModel> saved = courseUserRepository.insertAllIfAbsent(courseUserModels);
+        saved.forEach(courseUser -> outboxEventService.saveSubscriptionUserInCourse(courseUser.getCourse().getCourseId(), courseUser.getUserId()));
+        return saved;
     }
 
     @Override
@@ -44,6 +73,11 @@ public class CourseUserServiceImpl implements CourseUserService {
         return courseUserRepository.existsByUserId(userId);
     }
 
+    @Override
+    public long countByCourse(CourseModel courseModel) {
+        return courseUserRepository.countByCourse(courseModel);
+    }
+
     @Transactional
     @Override
     public void deleteCourseUserByUser(UUID userId) {
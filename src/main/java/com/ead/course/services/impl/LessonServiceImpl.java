@@ -1,25 +1,40 @@
 package com.ead.course.services.impl;
 
+import com.ead.course.dtos.CursorPageDto;
+import com.ead.course.dtos.LessonSummaryDto;
 import com.ead.course.models.LessonModel;
 import com.ead.course.repositories.LessonRepository;
 import com.ead.course.services.LessonService;
+import com.ead.course.services.UtilsService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 @Service
 public class LessonServiceImpl implements LessonService {
 
+    /**
+     * The attributes a cursor page can be sorted on.
+     */
+    private static final Map<String, Class<?>> CURSOR_SORT_PROPERTIES = Map.of(
+            "lessonId", UUID.class,
+            "title", String.class,
+            "creationDate", LocalDateTime.class);
+
     private final LessonRepository lessonRepository;
+    private final UtilsService utilsService;
 
-    public LessonServiceImpl(LessonRepository lessonRepository) {
+    public LessonServiceImpl(LessonRepository lessonRepository, UtilsService utilsService) {
         this.lessonRepository = lessonRepository;
+        this.utilsService = utilsService;
     }
 
     @Override
@@ -27,6 +42,7 @@ public class LessonServiceImpl implements LessonService {
         return lessonRepository.save(lesson);
     }
 
+    @Transactional
     @Override
     public Optional<LessonModel> findByLessonIntoModule(UUID moduleId, UUID lessonId) {
         return lessonRepository.findByLessonIntoModule(moduleId, lessonId);
@@ -44,7 +60,13 @@ public class LessonServiceImpl implements LessonService {
     }
 
     @Override
-    public Page<LessonModel> findAllByModule(Specification<LessonModel> spec, Pageable pageable) {
-        return lessonRepository.findAll(spec, pageable);
+    public Page<LessonSummaryDto> findAllByModule(Specification<LessonModel> spec, Pageable pageable) {
+        return lessonRepository.findAllProjected(spec, pageable, LessonSummaryDto.class, LessonSummaryDto.PROPERTIES);
+    }
+
+    @Override
+    public CursorPageDto<LessonSummaryDto> findAllByModule(Specification<LessonModel> spec, Pageable pageable, String cursor) {
+        return utilsService.createCursorPage(lessonRepository.findAllAfter(spec, pageable, utilsService.readCursor(cursor, pageable, CURSOR_SORT_PROPERTIES),
+                LessonSummaryDto.class, LessonSummaryDto.PROPERTIES));
     }
 }
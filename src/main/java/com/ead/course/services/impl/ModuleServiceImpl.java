@@ -1,39 +1,64 @@
 package com.ead.course.services.impl;
 
+import com.ead.course.dtos.CursorPageDto;
+import com.ead.course.dtos.ModuleSummaryDto;
 import com.ead.course.models.LessonModel;
 import com.ead.course.models.ModuleModel;
 import com.ead.course.repositories.LessonRepository;
 import com.ead.course.repositories.ModuleRepository;
 import com.ead.course.services.ModuleService;
+import com.ead.course.services.UtilsService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 public class ModuleServiceImpl implements ModuleService {
 
+    /**
+     * The attributes a cursor page can be sorted on.
+     */
+    private static final Map<String, Class<?>> CURSOR_SORT_PROPERTIES = Map.of(
+            "moduleId", UUID.class,
+            "title", String.class,
+            "creationDate", LocalDateTime.class);
+
     private final ModuleRepository moduleRepository;
     private final LessonRepository lessonRepository;
+    private final UtilsService utilsService;
 
-    public ModuleServiceImpl(ModuleRepository moduleRepository, LessonRepository lessonRepository) {
+    public ModuleServiceImpl(ModuleRepository moduleRepository, LessonRepository lessonRepository, UtilsService utilsService) {
         this.moduleRepository = moduleRepository;
         this.lessonRepository = lessonRepository;
+        this.utilsService = utilsService;
     }
 
+    /**
+     * The module handed in comes detached from the controller, it is read again inside this transaction so its
+     * lessons collection (answered by the second-level cache when present) can be initialized. Lessons are
+     * removed as entities, which evicts only their own cache entries and the module lessons collection.
+     *
+     * @param moduleModel the module to be deleted
+     */
     @Transactional
     @Override
     public void delete(ModuleModel moduleModel) {
-        List<LessonModel> lessons = lessonRepository.findAllLessonsIntoModule(moduleModel.getModuleId());
-        if (!lessons.isEmpty()) {
-            lessonRepository.deleteAll(lessons);
-        }
-        moduleRepository.delete(moduleModel);
+        moduleRepository.findById(moduleModel.getModuleId()).ifPresent(module -> {
+            Set<LessonModel> lessons = module.getLessons();
+            if (!lessons.isEmpty()) {
+                lessonRepository.deleteAll(lessons);
+            }
+            moduleRepository.delete(module);
+        });
     }
 
     @Override
@@ -41,6 +66,7 @@ public class ModuleServiceImpl implements ModuleService {
         return moduleRepository.save(module);
     }
 
+    @Transactional
     @Override
     public Optional<ModuleModel> findByModuleIntoCourse(UUID courseId, UUID moduleId) {
         return moduleRepository.findModuleIntoCourse(courseId, moduleId);
@@ -57,8 +83,14 @@ public class ModuleServiceImpl implements ModuleService {
     }
 
     @Override
-    public Page<ModuleModel> findAllByCourse(Specification<ModuleModel> spec, Pageable pageable) {
-        return moduleRepository.findAll(spec, pageable);
+    public Page<ModuleSummaryDto> findAllByCourse(Specification<ModuleModel> spec, Pageable pageable) {
+        return moduleRepository.findAllProjected(spec, pageable, ModuleSummaryDto.class, ModuleSummaryDto.PROPERTIES);
+    }
+
+    @Override
+    public CursorPageDto<ModuleSummaryDto> findAllByCourse(Specification<ModuleModel> spec, Pageable pageable, String cursor) {
+        return utilsService.createCursorPage(moduleRepository.findAllAfter(spec, pageable, utilsService.readCursor(cursor, pageable, CURSOR_SORT_PROPERTIES),
+                ModuleSummaryDto.class, ModuleSummaryDto.PROPERTIES));
     }
 
 }
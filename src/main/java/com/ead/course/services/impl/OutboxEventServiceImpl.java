@@ -0,0 +1,153 @@
+package com.ead.course.services.impl;
+
+import com.ead.course.clients.AuthUserClient;
+import com.ead.course.enums.OutboxEventType;
+import com.ead.course.models.OutboxEventModel;
+import com.ead.course.repositories.OutboxEventRepository;
+import com.ead.course.services.OutboxEventService;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Log4j2
+@Service
+public class OutboxEventServiceImpl implements OutboxEventService {
+
+    @Value("${ead.outbox.batch-size}")
+    private int batchSize;
+
+    @Value("${ead.outbox.backoff.initial-ms}")
+    private long initialBackoffMs;
+
+    @Value("${ead.outbox.backoff.max-ms}")
+    private long maxBackoffMs;
+
+    @Value("${ead.outbox.lease-ms}")
+    private long leaseMs;
+
+    @Value("${ead.outbox.max-attempts}")
+    private int maxAttempts;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final AuthUserClient authUserClient;
+    private final TransactionTemplate transactionTemplate;
+
+    public OutboxEventServiceImpl(OutboxEventRepository outboxEventRepository, AuthUserClient authUserClient,
+                                 PlatformTransactionManager transactionManager) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.authUserClient = authUserClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void saveSubscriptionUserInCourse(UUID courseId, UUID userId) {
+        outboxEventRepository.save(newEvent(OutboxEventType.SUBSCRIPTION_USER_IN_COURSE, courseId, userId));
+    }
+
+    @Override
+    public void saveDeleteCourseInAuthUser(UUID courseId) {
+        outboxEventRepository.save(newEvent(OutboxEventType.DELETE_COURSE_IN_AUTHUSER, courseId, null));
+    }
+
+    /**
+     * Sends one batch of due events to the AuthUser service. The subscriptions of a course go out together, a
+     * course deletion waits for the older events of its course and the later ones wait for it, whatever the
+     * number of instances. A failed event keeps its place and is retried with exponential backoff, up to
+     * ead.outbox.max-attempts; an event AuthUser rejects with a client error, or out of attempts, is parked
+     * so it no longer holds back its course.
+     * Events are claimed with a lease (ead.outbox.lease-ms) in a short transaction and sent after it commits,
+     * no row lock is held during the HTTP calls. An instance that dies mid-batch leaves its events to be sent
+     * again once the lease expires.
+     *
+     * @return the number of events taken from the outbox
+     */
+    @Override
+    public int dispatchPendingEvents() {
+        LocalDateTime now = LocalDateTime.now(ZoneId.of("UTC"));
+        List<OutboxEventModel> events = transactionTemplate.execute(status -> {
+            List<OutboxEventModel> claimedEvents = outboxEventRepository.findPendingEventsForUpdate(now, batchSize);
+            claimedEvents.forEach(event -> event.setLeaseDate(now.plus(Duration.ofMillis(leaseMs))));
+            return claimedEvents;
+        });
+        List<OutboxEventModel> dispatchedEvents = new ArrayList<>();
+        List<OutboxEventModel> failedEvents = new ArrayList<>();
+
+        for (OutboxEventModel event : events) {
+            try {
+                send(event);
+                dispatchedEvents.add(event);
+            } catch (RuntimeException e) {
+                event.setAttempts(event.getAttempts() + 1);
+                event.setLeaseDate(null);
+                failedEvents.add(event);
+                if (isRejected(e) || event.getAttempts() >= maxAttempts) {
+                    event.setParkedDate(now);
+                    log.error("Outbox event {} {} parked after attempt {} - {}", event.getId(), event.getEventType(), event.getAttempts(), e.getMessage());
+                } else {
+                    event.setNextAttemptDate(now.plus(Duration.ofMillis(backoffMs(event.getAttempts()))));
+                    log.warn("Outbox event {} {} failed, attempt {} - {}", event.getId(), event.getEventType(), event.getAttempts(), e.getMessage());
+                }
+            }
+        }
+
+        if (!dispatchedEvents.isEmpty()) {
+            outboxEventRepository.deleteAllInBatch(dispatchedEvents);
+            log.debug("Outbox events dispatched: {}", dispatchedEvents.size());
+        }
+        if (!failedEvents.isEmpty()) {
+            outboxEventRepository.saveAll(failedEvents);
+        }
+        return events.size();
+    }
+
+    private void send(OutboxEventModel event) {
+        switch (event.getEventType()) {
+            case SUBSCRIPTION_USER_IN_COURSE:
+                authUserClient.postSubscriptionUserInCourse(event.getCourseId(), event.getUserId());
+                break;
+            case DELETE_COURSE_IN_AUTHUSER:
+                authUserClient.deleteCourseInAuthUser(event.getCourseId());
+                break;
+            default:
+                throw new IllegalStateException("Unknown outbox event type " + event.getEventType());
+        }
+    }
+
+    /**
+     * A 4xx answer will not change on retry, except for a request timeout or a rate limit.
+     */
+    private boolean isRejected(RuntimeException e) {
+        if (!(e instanceof WebClientResponseException)) {
+            return false;
+        }
+        HttpStatus status = ((WebClientResponseException) e).getStatusCode();
+        return status.is4xxClientError() && status != HttpStatus.REQUEST_TIMEOUT && status != HttpStatus.TOO_MANY_REQUESTS;
+    }
+
+    private long backoffMs(int attempts) {
+        int exponent = Math.min(attempts - 1, 30);
+        return Math.min(initialBackoffMs << exponent, maxBackoffMs);
+    }
+
+    private OutboxEventModel newEvent(OutboxEventType eventType, UUID courseId, UUID userId) {
+        var event = new OutboxEventModel();
+        event.setEventType(eventType);
+        event.setCourseId(courseId);
+        event.setUserId(userId);
+        event.setCreationDate(LocalDateTime.now(ZoneId.of("UTC")));
+        event.setNextAttemptDate(event.getCreationDate());
+        event.setAttempts(0);
+        return event;
+    }
+}
@@ -0,0 +1,186 @@
+package com.ead.course.services.impl;
+
+import com.ead.course.clients.AuthUserClient;
+import com.ead.course.dtos.UserDto;
+import com.ead.course.dtos.UserSummaryDto;
+import com.ead.course.models.UserModel;
+import com.ead.course.repositories.UserRepository;
+import com.ead.course.services.UserService;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Log4j2
+@Service
+public class UserServiceImpl implements UserService {
+
+    private final UserRepository userRepository;
+    private final AuthUserClient authUserClient;
+    private final Duration localTtl;
+    private final int fetchConcurrency;
+
+    public UserServiceImpl(UserRepository userRepository, AuthUserClient authUserClient,
+                           @Value("${ead.users.local-ttl}") Duration localTtl,
+                           @Value("${ead.users.fetch-concurrency}") int fetchConcurrency) {
+        this.userRepository = userRepository;
+        this.authUserClient = authUserClient;
+        this.localTtl = localTtl;
+        this.fetchConcurrency = fetchConcurrency;
+    }
+
+    /**
+     * The user may already be stored, so it is merged.
+     */
+    @Override
+    public UserModel save(UserDto userDto) {
+        var user = toUserModel(userDto);
+        user.setPersisted(true);
+        return userRepository.save(user);
+    }
+
+    @Transactional
+    @Override
+    public void delete(UUID userId) {
+        if (userRepository.existsById(userId)) {
+            userRepository.deleteById(userId);
+        }
+    }
+
+    @Override
+    public Optional<UserModel> findById(UUID userId) {
+        return userRepository.findById(userId);
+    }
+
+    /**
+     * Same as findOrFetchById for many users: the local rows are read with one query and the users missing or
+     * stale locally are fetched from AuthUser concurrently, at most ead.users.fetch-concurrency at a time so
+     * the authuserUserById bulkhead is not overrun.
+     *
+     * @param userIds the user ids
+     * @return the users by id, empty if AuthUser does not know it; a user whose lookup failed is left out
+     */
+    @Override
+    public Map<UUID, Optional<UserModel>> findOrFetchAllByIds(Collection<UUID> userIds) {
+        Map<UUID, UserModel> storedUsers = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(UserModel::getUserId, Function.identity()));
+        Map<UUID, Optional<UserModel>> users = new ConcurrentHashMap<>();
+        List<UUID> fetchedUserIds = new ArrayList<>();
+        for (UUID userId : userIds) {
+            UserModel storedUser = storedUsers.get(userId);
+            if (storedUser != null && isFresh(storedUser)) {
+                users.put(userId, Optional.of(storedUser));
+            } else {
+                fetchedUserIds.add(userId);
+            }
+        }
+
+        Flux.fromIterable(fetchedUserIds)
+                .flatMap(userId -> Mono.fromCallable(() -> fetch(userId, storedUsers.containsKey(userId)))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .doOnNext(user -> users.put(userId, user))
+                        .onErrorResume(e -> e instanceof WebClientResponseException || e instanceof ResponseStatusException, e -> {
+                            log.warn("User {} lookup failed - {}", userId, e.getMessage());
+                            return Mono.empty();
+                        }), fetchConcurrency)
+                .blockLast();
+        return users;
+    }
+
+    /**
+     * Reads the user from the local table kept by the user event consumer. The AuthUser service is called on
+     * a miss, or when the local row is older than ead.users.local-ttl, and its answer is stored locally. No
+     * event transport feeds the table yet, so the TTL bounds how long a status change (e.g. a block) can go
+     * unnoticed; a stale row is never used when AuthUser fails.
+     *
+     * @param userId the user id
+     * @return the user, empty if AuthUser does not know it
+     * @throws WebClientResponseException for any other error answered by AuthUser
+     */
+    @Override
+    public Optional<UserModel> findOrFetchById(UUID userId) {
+        Optional<UserModel> possibleUser = userRepository.findById(userId);
+        if (possibleUser.isPresent() && isFresh(possibleUser.get())) {
+            return possibleUser;
+        }
+        return fetch(userId, possibleUser.isPresent());
+    }
+
+    /**
+     * Fetches the user from AuthUser and stores it locally.
+     *
+     * @param userId the user id
+     * @param stored whether a (stale) row of the user is stored locally
+     * @return the user, empty if AuthUser does not know it
+     */
+    private Optional<UserModel> fetch(UUID userId, boolean stored) {
+        if (stored) {
+            // the AuthUser answer cached by the client may be as old as the row
+            authUserClient.evictUserById(userId);
+        }
+        try {
+            UserDto userDto = authUserClient.getOneUserById(userId).getBody();
+            return Optional.of(stored ? save(userDto) : insert(userDto));
+        } catch (WebClientResponseException e) {
+            if (e.getStatusCode().equals(HttpStatus.NOT_FOUND)) {
+                if (stored) {
+                    delete(userId);
+                }
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Inserts a user known to be missing locally, without the SELECT of a merge. A concurrent lookup may
+     * have inserted it in between, it is then merged.
+     */
+    private UserModel insert(UserDto userDto) {
+        try {
+            return userRepository.save(toUserModel(userDto));
+        } catch (DataIntegrityViolationException e) {
+            return save(userDto);
+        }
+    }
+
+    private UserModel toUserModel(UserDto userDto) {
+        var user = new UserModel();
+        BeanUtils.copyProperties(userDto, user);
+        user.setSyncDate(LocalDateTime.now(ZoneId.of("UTC")));
+        return user;
+    }
+
+    private boolean isFresh(UserModel user) {
+        return user.getSyncDate() != null
+                && user.getSyncDate().isAfter(LocalDateTime.now(ZoneId.of("UTC")).minus(localTtl));
+    }
+
+    @Override
+    public Page<UserSummaryDto> findAllUsersIntoCourse(UUID courseId, Pageable pageable) {
+        return userRepository.findAllUsersIntoCourse(courseId, pageable);
+    }
+}
@@ -1,18 +1,146 @@
 package com.ead.course.services.impl;
 
+import com.ead.course.dtos.CursorPageDto;
+import com.ead.course.dtos.KeysetCursorDto;
 import com.ead.course.services.UtilsService;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
 public class UtilsServiceImpl implements UtilsService {
 
+    private static final String CURSOR_SEPARATOR = "\u0000";
+    private static final String CURSOR_VALUE_PREFIX = "=";
 
     @Override
     public String createUrlGetAllUsersByCourse(UUID courseId, Pageable pageable) {
         return "/api/v1/users?courseId=" + courseId + "&page=" + pageable.getPageNumber() + "&size=" +
                 pageable.getPageSize() + "&sort=" + pageable.getSort().toString().replaceAll(": ", ",");
     }
+
+    /**
+     * Decodes an opaque cursor created by {@link #createCursorPage(Slice)} and converts its sort value to the
+     * type of the sorted attribute. The sort of the pageable and the one of the cursor must be on the same
+     * whitelisted property, so a client can neither sort on nor inject an arbitrary attribute.
+     *
+     * @param cursor             the cursor sent by the client, blank for the first slice
+     * @param pageable           the requested page size and sort
+     * @param sortableProperties the attributes that can be sorted on, with their type
+     * @return the decoded cursor or null when blank
+     * @throws IllegalArgumentException if the sort is not allowed or the cursor is malformed, tampered with or
+     *                                  does not match the sort
+     */
+    @Override
+    public KeysetCursorDto readCursor(String cursor, Pageable pageable, Map<String, Class<?>> sortableProperties) {
+        Sort.Order order = pageable.getSort().stream().findFirst().orElse(null);
+        if (order != null && !sortableProperties.containsKey(order.getProperty())) {
+            throw new IllegalArgumentException("Unsupported sort property " + order.getProperty());
+        }
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        KeysetCursorDto keysetCursor;
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(CURSOR_SEPARATOR, -1);
+            if (parts.length != 4 || !sortableProperties.containsKey(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            Comparable<?> sortValue = parts[2].startsWith(CURSOR_VALUE_PREFIX)
+                    ? toSortValue(sortableProperties.get(parts[0]), parts[2].substring(CURSOR_VALUE_PREFIX.length()))
+                    : null;
+            if (sortValue == null && !parts[2].isEmpty()) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            keysetCursor = new KeysetCursorDto(parts[0], Sort.Direction.fromString(parts[1]), sortValue, UUID.fromString(parts[3]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        if (order != null && (!order.getProperty().equals(keysetCursor.getSortProperty()) || order.getDirection() != keysetCursor.getDirection())) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+        return keysetCursor;
+    }
+
+    private static Comparable<?> toSortValue(Class<?> type, String value) {
+        if (LocalDateTime.class.equals(type)) {
+            return LocalDateTime.parse(value);
+        }
+        return (Comparable<?>) DefaultConversionService.getSharedInstance().convert(value, type);
+    }
+
+    /**
+     * Builds the response of a keyset query, the next cursor holds the sort value and id of the last row
+     * and is only present when there are more rows. A present sort value is prefixed so a null one (left
+     * empty) can not be confused with the text "null" or an empty string.
+     *
+     * @param slice the slice returned by KeysetSpecificationExecutor.findAllAfter
+     * @return the page with its continuation cursor
+     */
+    @Override
+    public <T> CursorPageDto<T> createCursorPage(Slice<T> slice) {
+        List<T> content = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext() && !content.isEmpty()) {
+            List<Sort.Order> orders = slice.getSort().toList();
+            Sort.Order order = orders.get(0);
+            String idProperty = orders.get(orders.size() - 1).getProperty();
+            var last = new BeanWrapperImpl(content.get(content.size() - 1));
+            Object sortValue = last.getPropertyValue(order.getProperty());
+            String payload = order.getProperty() + CURSOR_SEPARATOR + order.getDirection() + CURSOR_SEPARATOR +
+                    (sortValue == null ? "" : CURSOR_VALUE_PREFIX + sortValue) + CURSOR_SEPARATOR + last.getPropertyValue(idProperty);
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        }
+        return new CursorPageDto<>(content, content.size(), nextCursor);
+    }
+
+    @Override
+    public String createETag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Strong validator of a resource carrying its last update date (UTC), truncated to the microseconds kept by
+     * the database so the tag of a just saved entity matches the one of the same row read back.
+     *
+     * @param lastUpdateDate the last update date of the resource
+     * @return the quoted entity tag
+     */
+    @Override
+    public String createETag(LocalDateTime lastUpdateDate) {
+        return "\"" + ChronoUnit.MICROS.between(Instant.EPOCH, lastUpdateDate.toInstant(ZoneOffset.UTC)) + "\"";
+    }
+
+    /**
+     * Strong comparison of an If-Match header against the current entity tag: an absent header or "*" always
+     * match, weak tags never do.
+     *
+     * @param ifMatch the If-Match header, can be null
+     * @param eTag    the current entity tag
+     * @return false when the client holds a stale representation
+     */
+    @Override
+    public boolean matchesIfMatch(String ifMatch, String eTag) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return true;
+        }
+        return Arrays.stream(ifMatch.split(","))
+                .map(String::trim)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(eTag));
+    }
 }
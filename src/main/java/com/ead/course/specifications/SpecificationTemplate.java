@@ -1,5 +1,6 @@
 package com.ead.course.specifications;
 
+import com.ead.course.dtos.KeysetCursorDto;
 import com.ead.course.models.CourseModel;
 import com.ead.course.models.CourseUserModel;
 import com.ead.course.models.LessonModel;
@@ -10,10 +11,10 @@ import net.kaczmarzyk.spring.data.jpa.web.annotation.And;
 import net.kaczmarzyk.spring.data.jpa.web.annotation.Spec;
 import org.springframework.data.jpa.domain.Specification;
 
-import javax.persistence.criteria.Expression;
-import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
-import java.util.Collection;
+import javax.persistence.criteria.Subquery;
 import java.util.UUID;
 
 public class SpecificationTemplate {
@@ -32,31 +33,66 @@ public class SpecificationTemplate {
     @Spec(path = "title", spec = Like.class)
     public interface LessonSpec extends Specification<LessonModel> {}
 
+    /**
+     * Filters on the module foreign key (course_course_id) itself, navigating to the id of a
+     * ManyToOne association does not add a join, so no cross join or DISTINCT is needed.
+     *
+     * @param courseId the course id
+     * @return the specification of the modules of the course
+     */
     public static Specification<ModuleModel> moduleCourseId(final UUID courseId) {
-        return (root, query, cb) -> {
-            query.distinct(true);
-            Root<ModuleModel> module = root;
-            Root<CourseModel> course = query.from(CourseModel.class);
-            Expression<Collection<ModuleModel>> courseModules = course.get("modules");
-            return cb.and(cb.equal(course.get("courseId"), courseId), cb.isMember(module, courseModules));
-        };
+        return (root, query, cb) -> cb.equal(root.get("course").get("courseId"), courseId);
     }
 
     public static Specification<LessonModel> lessonModuleId(final UUID moduleId) {
+        return (root, query, cb) -> cb.equal(root.get("module").get("moduleId"), moduleId);
+    }
+
+    /**
+     * Seek predicate: (sort &gt; value) OR (sort = value AND id &gt; lastId), reversed for descending order.
+     * Postgres sorts nulls last in ascending order and first in descending order, the rows with a null sort
+     * value are placed accordingly before or after the cursor.
+     *
+     * @param cursor     the position of the last row already returned, its value converted to the attribute type
+     * @param idProperty the id attribute of the entity, used as tie-breaker
+     * @return the specification of the rows after the cursor
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <T> Specification<T> keysetAfter(final KeysetCursorDto cursor, final String idProperty) {
         return (root, query, cb) -> {
-            query.distinct(true);
-            Root<LessonModel> lesson = root;
-            Root<ModuleModel> module = query.from(ModuleModel.class);
-            Expression<Collection<LessonModel>> lessonModules = module.get("lessons");
-            return cb.and(cb.equal(module.get("moduleId"), moduleId), cb.isMember(lesson, lessonModules));
+            boolean ascending = cursor.getDirection().isAscending();
+            Path<UUID> id = root.get(idProperty);
+            Predicate afterId = ascending ? cb.greaterThan(id, cursor.getId()) : cb.lessThan(id, cursor.getId());
+            if (cursor.getSortProperty().equals(idProperty)) {
+                return afterId;
+            }
+
+            Path<Comparable> sortPath = root.get(cursor.getSortProperty());
+            Comparable value = cursor.getSortValue();
+            if (value == null) {
+                Predicate afterNullValue = cb.and(cb.isNull(sortPath), afterId);
+                return ascending ? afterNullValue : cb.or(cb.isNotNull(sortPath), afterNullValue);
+            }
+            Predicate afterValue = ascending ? cb.greaterThan(sortPath, value) : cb.lessThan(sortPath, value);
+            Predicate after = cb.or(afterValue, cb.and(cb.equal(sortPath, value), afterId));
+            return ascending ? cb.or(after, cb.isNull(sortPath)) : after;
         };
     }
 
+    /**
+     * Courses the user is subscribed to, as an EXISTS subquery on the subscriptions rather than a join, so no
+     * DISTINCT is needed and the listing can be sorted on any column, projected or not.
+     *
+     * @param userId the user id
+     * @return the specification of the courses of the user
+     */
     public static Specification<CourseModel> courseUserId(final UUID userId) {
         return (root, query, cb) -> {
-            query.distinct(true);
-            Join<CourseModel, CourseUserModel> courseProd = root.join("courseUsers");
-            return cb.equal(courseProd.get("userId"), userId);
+            Subquery<UUID> subscription = query.subquery(UUID.class);
+            Root<CourseUserModel> courseUser = subscription.from(CourseUserModel.class);
+            subscription.select(courseUser.get("userId"))
+                    .where(cb.equal(courseUser.get("course"), root), cb.equal(courseUser.get("userId"), userId));
+            return cb.exists(subscription);
         };
     }
 }
@@ -1,27 +1,26 @@
 package com.ead.course.validation;
 
-import com.ead.course.clients.AuthUserClient;
 import com.ead.course.dtos.CourseDto;
-import com.ead.course.dtos.UserDto;
 import com.ead.course.enums.UserType;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import com.ead.course.models.UserModel;
+import com.ead.course.services.UserService;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.Errors;
 import org.springframework.validation.Validator;
-import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
+import java.util.Optional;
 import java.util.UUID;
 
 @Component
 public class CourseValidator implements Validator {
 
     private final Validator validator;
-    private final AuthUserClient authUserClient;
+    private final UserService userService;
 
-    public CourseValidator(Validator validator, AuthUserClient authUserClient) {
+    public CourseValidator(Validator validator, UserService userService) {
         this.validator = validator;
-        this.authUserClient = authUserClient;
+        this.userService = userService;
     }
 
     @Override
@@ -40,16 +39,16 @@ public class CourseValidator implements Validator {
     }
 
     private void validateUserInstructor(UUID userInstructor, Errors errors) {
-        ResponseEntity<UserDto> responseUserInstructor;
+        Optional<UserModel> possibleInstructor;
         try {
-            responseUserInstructor = authUserClient.getOneUserById(userInstructor);
-            if (responseUserInstructor.getBody().getUserType().equals(UserType.STUDENT)) {
-                errors.rejectValue("userInstructor", "UserInstructorError", "User must be INSTRUCTOR or ADMIN.");
-            }
-        } catch (HttpStatusCodeException e) {
-            if (e.getStatusCode().equals(HttpStatus.NOT_FOUND)) {
-                errors.rejectValue("userInstructor", "UserInstructorError", "Instructor nof found.");
-            }
+            possibleInstructor = userService.findOrFetchById(userInstructor);
+        } catch (WebClientResponseException e) {
+            return;
+        }
+        if (possibleInstructor.isEmpty()) {
+            errors.rejectValue("userInstructor", "UserInstructorError", "Instructor nof found.");
+        } else if (possibleInstructor.get().getUserType().equals(UserType.STUDENT)) {
+            errors.rejectValue("userInstructor", "UserInstructorError", "User must be INSTRUCTOR or ADMIN.");
         }
     }
 }
@@ -0,0 +1,28 @@
+-- Runs after Hibernate has created/updated the tables (spring.jpa.defer-datasource-initialization) and on
+-- every start, so every statement is idempotent. Statements are split on ';' outside quotes, blocks are
+-- written as quoted strings.
+
+-- One subscription per course and user. ddl-auto update does not add the constraint of CourseUserModel to a
+-- table already holding duplicates (the failure is only logged), so they are removed first, keeping one row.
+DO 'BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ''uk_course_users_course_user'') THEN
+        DELETE FROM tb_course_users duplicate USING tb_course_users kept
+            WHERE duplicate.course_id = kept.course_id AND duplicate.user_id = kept.user_id AND duplicate.id > kept.id;
+        ALTER TABLE tb_course_users ADD CONSTRAINT uk_course_users_course_user UNIQUE (course_id, user_id);
+    END IF;
+END';
+
+-- Catalog search (CourseRepository.search). The extensions need a role allowed to create them.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- unaccent() is only STABLE, an IMMUTABLE wrapper with an explicit dictionary can be used in indexes.
+CREATE OR REPLACE FUNCTION f_unaccent(text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+AS 'SELECT public.unaccent(''public.unaccent'', $1)';
+
+CREATE INDEX IF NOT EXISTS idx_course_search_document ON tb_course
+    USING GIN (to_tsvector('simple', f_unaccent(lower(name || ' ' || description))));
+
+CREATE INDEX IF NOT EXISTS idx_course_name_trgm ON tb_course
+    USING GIN (f_unaccent(lower(name)) gin_trgm_ops);
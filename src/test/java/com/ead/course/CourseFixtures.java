@@ -0,0 +1,52 @@
+package com.ead.course;
+
+import com.ead.course.enums.CourseLevel;
+import com.ead.course.enums.CourseStatus;
+import com.ead.course.models.CourseModel;
+import com.ead.course.models.LessonModel;
+import com.ead.course.models.ModuleModel;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+/**
+ * Valid, unsaved courses, modules and lessons for the tests, the description repeating the name or title.
+ */
+public final class CourseFixtures {
+
+    private CourseFixtures() {
+    }
+
+    public static CourseModel newCourse(String name) {
+        var now = LocalDateTime.now(ZoneId.of("UTC"));
+        var course = new CourseModel();
+        course.setName(name);
+        course.setDescription(name);
+        course.setCourseStatus(CourseStatus.INPROGRESS);
+        course.setCourseLevel(CourseLevel.BEGINNER);
+        course.setUserInstructor(UUID.randomUUID());
+        course.setCreationDate(now);
+        course.setLastUpdateDate(now);
+        return course;
+    }
+
+    public static ModuleModel newModule(CourseModel course, String title, LocalDateTime creationDate) {
+        var module = new ModuleModel();
+        module.setTitle(title);
+        module.setDescription(title);
+        module.setCreationDate(creationDate);
+        module.setCourse(course);
+        return module;
+    }
+
+    public static LessonModel newLesson(ModuleModel module, String title, LocalDateTime creationDate) {
+        var lesson = new LessonModel();
+        lesson.setTitle(title);
+        lesson.setDescription(title);
+        lesson.setVideoUrl("https://videos.ead.com/" + title.toLowerCase().replace(' ', '-'));
+        lesson.setCreationDate(creationDate);
+        lesson.setModule(module);
+        return lesson;
+    }
+}
@@ -0,0 +1,50 @@
+package com.ead.course;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Base of the tests running against a real Postgres. A single embedded instance is started on first use and
+ * shared by every test class of the JVM, it is stopped on shutdown rather than after each class so the Spring
+ * contexts cached by the test framework keep a live datasource.
+ * The test profile (application-test.yaml) holds the settings every such context shares, subclasses only
+ * redeclare {@code @SpringBootTest} for the properties of their own.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public abstract class EmbeddedPostgresTests {
+
+    private static EmbeddedPostgres postgres;
+
+    @DynamicPropertySource
+    static void embeddedPostgres(DynamicPropertyRegistry registry) {
+        EmbeddedPostgres instance = postgres();
+        registry.add("spring.datasource.url", () -> instance.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    private static synchronized EmbeddedPostgres postgres() {
+        if (postgres == null) {
+            try {
+                postgres = EmbeddedPostgres.start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Embedded Postgres could not be started", e);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    postgres.close();
+                } catch (IOException ignored) {
+                    // the process is exiting anyway
+                }
+            }));
+        }
+        return postgres;
+    }
+}
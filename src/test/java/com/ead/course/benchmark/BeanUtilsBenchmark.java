@@ -0,0 +1,88 @@
+package com.ead.course.benchmark;
+
+import com.ead.course.dtos.CourseDto;
+import com.ead.course.dtos.LessonDto;
+import com.ead.course.dtos.ModuleDto;
+import com.ead.course.enums.CourseLevel;
+import com.ead.course.enums.CourseStatus;
+import com.ead.course.models.CourseModel;
+import com.ead.course.models.LessonModel;
+import com.ead.course.models.ModuleModel;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.BeanUtils;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request DTO to entity copying as done by the controllers, with the equivalent hand-written setters as baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanUtilsBenchmark {
+
+    private final CourseDto courseDto = new CourseDto();
+    private final ModuleDto moduleDto = new ModuleDto();
+    private final LessonDto lessonDto = new LessonDto();
+
+    @Setup
+    public void setUp() {
+        courseDto.setName("Java");
+        courseDto.setDescription("Java course");
+        courseDto.setImageUrl("https://images.ead.com/java.png");
+        courseDto.setUserInstructor(UUID.randomUUID());
+        courseDto.setCourseStatus(CourseStatus.INPROGRESS);
+        courseDto.setCourseLevel(CourseLevel.BEGINNER);
+        moduleDto.setTitle("Module");
+        moduleDto.setDescription("Module description");
+        lessonDto.setTitle("Lesson");
+        lessonDto.setDescription("Lesson description");
+        lessonDto.setVideoUrl("https://videos.ead.com/lesson");
+    }
+
+    @Benchmark
+    public CourseModel copyCourse() {
+        var course = new CourseModel();
+        BeanUtils.copyProperties(courseDto, course);
+        return course;
+    }
+
+    @Benchmark
+    public CourseModel setCourse() {
+        var course = new CourseModel();
+        course.setName(courseDto.getName());
+        course.setDescription(courseDto.getDescription());
+        course.setImageUrl(courseDto.getImageUrl());
+        course.setUserInstructor(courseDto.getUserInstructor());
+        course.setCourseStatus(courseDto.getCourseStatus());
+        course.setCourseLevel(courseDto.getCourseLevel());
+        return course;
+    }
+
+    @Benchmark
+    public ModuleModel copyModule() {
+        var module = new ModuleModel();
+        BeanUtils.copyProperties(moduleDto, module);
+        return module;
+    }
+
+    @Benchmark
+    public LessonModel copyLesson() {
+        var lesson = new LessonModel();
+        BeanUtils.copyProperties(lessonDto, lesson);
+        return lesson;
+    }
+
+    @Benchmark
+    public LessonModel setLesson() {
+        var lesson = new LessonModel();
+        lesson.setTitle(lessonDto.getTitle());
+        lesson.setDescription(lessonDto.getDescription());
+        lesson.setVideoUrl(lessonDto.getVideoUrl());
+        return lesson;
+    }
+}
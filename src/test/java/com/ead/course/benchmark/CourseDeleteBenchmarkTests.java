@@ -0,0 +1,145 @@
+package com.ead.course.benchmark;
+
+import com.ead.course.EmbeddedPostgresTests;
+import com.ead.course.models.CourseModel;
+import com.ead.course.models.CourseUserModel;
+import com.ead.course.models.LessonModel;
+import com.ead.course.models.ModuleModel;
+import com.ead.course.repositories.CourseRepository;
+import com.ead.course.repositories.CourseUserRepository;
+import com.ead.course.repositories.LessonRepository;
+import com.ead.course.repositories.ModuleRepository;
+import com.ead.course.services.CourseService;
+import lombok.extern.log4j.Log4j2;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static com.ead.course.CourseFixtures.newCourse;
+import static com.ead.course.CourseFixtures.newLesson;
+import static com.ead.course.CourseFixtures.newModule;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Deletes a course of 200 modules x 20 lessons with 100 subscribed users, once through the set-based
+ * CourseService.delete and once entity by entity as the service did before (one lessons query per module,
+ * one DELETE per row), and reports the statements issued and the wall time of each.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Log4j2
+@Tag("benchmark")
+@ActiveProfiles("prod")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class CourseDeleteBenchmarkTests extends EmbeddedPostgresTests {
+
+    private static final int MODULES = 200;
+    private static final int LESSONS_PER_MODULE = 20;
+    private static final int USERS = 100;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ModuleRepository moduleRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private CourseUserRepository courseUserRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void deleteCourseSetBasedAndEntityByEntity() {
+        long[] entityByEntity = deleteCourse(this::deleteEntityByEntity);
+        long[] setBased = deleteCourse(course -> courseService.delete(course));
+
+        log.info("Course delete {} modules x {} lessons, {} users - entity by entity: {} statements in {} ms",
+                MODULES, LESSONS_PER_MODULE, USERS, entityByEntity[0], entityByEntity[1]);
+        log.info("Course delete {} modules x {} lessons, {} users - set-based: {} statements in {} ms",
+                MODULES, LESSONS_PER_MODULE, USERS, setBased[0], setBased[1]);
+        assertTrue(setBased[0] * 10 < entityByEntity[0], "The set-based delete did not reduce the statements issued");
+    }
+
+    /**
+     * Creates a fresh course, then deletes it with the given path and checks nothing of it is left.
+     *
+     * @return the statements issued by the delete and its wall time in milliseconds
+     */
+    private long[] deleteCourse(Consumer<CourseModel> delete) {
+        CourseModel course = createCourse();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long start = System.nanoTime();
+
+        delete.accept(course);
+
+        long[] result = {statistics.getPrepareStatementCount(), (System.nanoTime() - start) / 1_000_000};
+        assertFalse(courseRepository.existsById(course.getCourseId()));
+        assertTrue(moduleRepository.findAllModulesIntoCourse(course.getCourseId()).isEmpty());
+        return result;
+    }
+
+    /**
+     * The delete path CourseServiceImpl.delete replaced.
+     */
+    private void deleteEntityByEntity(CourseModel course) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<ModuleModel> modules = moduleRepository.findAllModulesIntoCourse(course.getCourseId());
+            for (ModuleModel module : modules) {
+                List<LessonModel> lessons = lessonRepository.findAllLessonsIntoModule(module.getModuleId());
+                if (!lessons.isEmpty()) {
+                    lessonRepository.deleteAll(lessons);
+                }
+            }
+            moduleRepository.deleteAll(modules);
+            courseUserRepository.deleteAll(courseUserRepository.findAllCourseUserIntoCourse(course.getCourseId()));
+            courseRepository.deleteById(course.getCourseId());
+        });
+    }
+
+    private CourseModel createCourse() {
+        return transactionTemplate.execute(status -> {
+            var now = LocalDateTime.now(ZoneId.of("UTC"));
+            var course = newCourse("Benchmark course");
+            entityManager.persist(course);
+            for (int m = 0; m < MODULES; m++) {
+                var module = newModule(course, "Module " + m, now);
+                entityManager.persist(module);
+                for (int l = 0; l < LESSONS_PER_MODULE; l++) {
+                    entityManager.persist(newLesson(module, "Lesson " + l, now));
+                }
+            }
+            for (int u = 0; u < USERS; u++) {
+                entityManager.persist(new CourseUserModel(null, course, UUID.randomUUID()));
+            }
+            return course;
+        });
+    }
+}
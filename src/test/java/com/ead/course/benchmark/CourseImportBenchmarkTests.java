@@ -0,0 +1,91 @@
+package com.ead.course.benchmark;
+
+import com.ead.course.EmbeddedPostgresTests;
+import lombok.extern.log4j.Log4j2;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static com.ead.course.CourseFixtures.newCourse;
+import static com.ead.course.CourseFixtures.newLesson;
+import static com.ead.course.CourseFixtures.newModule;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Imports a course with 100 modules x 50 lessons in a single transaction, once with JDBC batching disabled
+ * and once with the batch size of application.yaml under the insert and update ordering of the prod profile,
+ * and reports the statements issued and the wall time.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Log4j2
+@Tag("benchmark")
+@ActiveProfiles("prod")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class CourseImportBenchmarkTests extends EmbeddedPostgresTests {
+
+    private static final int MODULES = 100;
+    private static final int LESSONS_PER_MODULE = 50;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void importCourseWithAndWithoutBatching() {
+        importCourse(BATCH_SIZE);
+
+        long[] single = importCourse(1);
+        long[] batched = importCourse(BATCH_SIZE);
+
+        log.info("Course import {} modules x {} lessons - batch size 1: {} statements in {} ms", MODULES, LESSONS_PER_MODULE, single[0], single[1]);
+        log.info("Course import {} modules x {} lessons - batch size {}: {} statements in {} ms", MODULES, LESSONS_PER_MODULE, BATCH_SIZE, batched[0], batched[1]);
+        assertTrue(batched[0] * 10 < single[0], "JDBC batching did not reduce the statements issued");
+    }
+
+    /**
+     * Persists modules and lessons interleaved, as an import reading the course tree does, so the statements
+     * are only grouped into batches when hibernate.order_inserts is on. The transaction is rolled back after
+     * the flush to keep every run on the same empty tables.
+     *
+     * @return the statements issued and the wall time in milliseconds
+     */
+    private long[] importCourse(int jdbcBatchSize) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            var now = LocalDateTime.now(ZoneId.of("UTC"));
+            var course = newCourse("Benchmark course");
+            entityManager.persist(course);
+            for (int m = 0; m < MODULES; m++) {
+                var module = newModule(course, "Module " + m, now);
+                entityManager.persist(module);
+                for (int l = 0; l < LESSONS_PER_MODULE; l++) {
+                    entityManager.persist(newLesson(module, "Lesson " + l, now));
+                }
+            }
+            entityManager.flush();
+            status.setRollbackOnly();
+        });
+        return new long[]{statistics.getPrepareStatementCount(), (System.nanoTime() - start) / 1_000_000};
+    }
+}
@@ -0,0 +1,108 @@
+package com.ead.course.benchmark;
+
+import com.ead.course.EmbeddedPostgresTests;
+import com.ead.course.dtos.CourseSummaryDto;
+import com.ead.course.models.CourseModel;
+import com.ead.course.repositories.CourseRepository;
+import com.ead.course.services.CourseService;
+import lombok.extern.log4j.Log4j2;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+import java.util.function.Function;
+
+import static com.ead.course.CourseFixtures.newCourse;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pages through 10 000 courses 100 at a time, once as the entity pages the course listing used to return and
+ * once as the projected summaries it returns now, checks both return the same rows and reports the rows
+ * fetched, the entities loaded and the wall time of each. Run with {@code mvn test -Pbenchmark}.
+ */
+@Log4j2
+@Tag("benchmark")
+@ActiveProfiles("prod")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class CourseListingBenchmarkTests extends EmbeddedPostgresTests {
+
+    private static final int COURSES = 10_000;
+    private static final int PAGE_SIZE = 100;
+    private static final Specification<CourseModel> ALL_COURSES = null;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void courseListingEntitiesAndProjection() {
+        createCourses();
+        Pageable firstPage = PageRequest.of(0, PAGE_SIZE, Sort.by("courseId"));
+        assertEquals(courseRepository.findAll(ALL_COURSES, firstPage).map(CourseModel::getCourseId).getContent(),
+                courseService.findAll(ALL_COURSES, firstPage).map(CourseSummaryDto::getCourseId).getContent());
+
+        long[] entities = listCourses(pageable -> courseRepository.findAll(ALL_COURSES, pageable));
+        long[] projected = listCourses(pageable -> courseService.findAll(ALL_COURSES, pageable));
+
+        log.info("Course listing {} courses, pages of {} - entities: {} rows, {} entities loaded in {} ms",
+                COURSES, PAGE_SIZE, entities[0], entities[1], entities[2]);
+        log.info("Course listing {} courses, pages of {} - projected: {} rows, {} entities loaded in {} ms",
+                COURSES, PAGE_SIZE, projected[0], projected[1], projected[2]);
+        assertEquals(entities[0], projected[0]);
+        assertEquals(0, projected[1]);
+    }
+
+    /**
+     * Reads every page of the catalog through the given listing.
+     *
+     * @return the rows fetched, the entities loaded and the wall time in milliseconds
+     */
+    private long[] listCourses(Function<Pageable, Page<?>> listing) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long rows = 0;
+        long start = System.nanoTime();
+        for (int page = 0; page < COURSES / PAGE_SIZE; page++) {
+            rows += listing.apply(PageRequest.of(page, PAGE_SIZE, Sort.by("courseId"))).getNumberOfElements();
+        }
+        return new long[]{rows, statistics.getEntityLoadCount(), (System.nanoTime() - start) / 1_000_000};
+    }
+
+    private void createCourses() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < COURSES; i++) {
+                var course = newCourse("Course " + i);
+                course.setImageUrl("https://images.ead.com/" + i + ".png");
+                entityManager.persist(course);
+                if (i % 500 == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        });
+    }
+}
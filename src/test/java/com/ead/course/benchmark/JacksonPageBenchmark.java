@@ -0,0 +1,149 @@
+package com.ead.course.benchmark;
+
+import com.ead.course.dtos.CompactPageDto;
+import com.ead.course.dtos.CourseSummaryDto;
+import com.ead.course.dtos.LessonSummaryDto;
+import com.ead.course.dtos.ModuleSummaryDto;
+import com.ead.course.enums.CourseLevel;
+import com.ead.course.enums.CourseStatus;
+import com.ead.course.models.CourseModel;
+import com.ead.course.models.LessonModel;
+import com.ead.course.models.ModuleModel;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of the Page responses of the listing endpoints with an ObjectMapper configured like Spring Boot's,
+ * as the entity pages they used to return and as the projected compact pages they return now. The response size
+ * of each page is reported as the responseBytes secondary result, the allocation per page by the gc profiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonPageBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<CourseModel> courses;
+    private Page<ModuleModel> modules;
+    private Page<LessonModel> lessons;
+    private CompactPageDto<CourseSummaryDto> courseSummaries;
+    private CompactPageDto<ModuleSummaryDto> moduleSummaries;
+    private CompactPageDto<LessonSummaryDto> lessonSummaries;
+
+    /**
+     * Holds the size of the last page serialized. EVENTS counters are summed over the benchmark threads at the end
+     * of each iteration, with the single thread used here the result is the size of one page.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ResponseSize {
+
+        public long responseBytes;
+    }
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        var now = LocalDateTime.now();
+        List<CourseModel> courseList = new ArrayList<>();
+        List<ModuleModel> moduleList = new ArrayList<>();
+        List<LessonModel> lessonList = new ArrayList<>();
+        List<CourseSummaryDto> courseSummaryList = new ArrayList<>();
+        List<ModuleSummaryDto> moduleSummaryList = new ArrayList<>();
+        List<LessonSummaryDto> lessonSummaryList = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            var course = new CourseModel();
+            course.setCourseId(UUID.randomUUID());
+            course.setName("Course " + i);
+            course.setDescription("Course description " + i);
+            course.setImageUrl("https://images.ead.com/" + i + ".png");
+            course.setCreationDate(now);
+            course.setLastUpdateDate(now);
+            course.setCourseStatus(CourseStatus.INPROGRESS);
+            course.setCourseLevel(CourseLevel.BEGINNER);
+            course.setUserInstructor(UUID.randomUUID());
+            courseList.add(course);
+
+            var module = new ModuleModel();
+            module.setModuleId(UUID.randomUUID());
+            module.setTitle("Module " + i);
+            module.setDescription("Module description " + i);
+            module.setCreationDate(now);
+            moduleList.add(module);
+
+            var lesson = new LessonModel();
+            lesson.setLessonId(UUID.randomUUID());
+            lesson.setTitle("Lesson " + i);
+            lesson.setDescription("Lesson description " + i);
+            lesson.setVideoUrl("https://videos.ead.com/" + i);
+            lesson.setCreationDate(now);
+            lessonList.add(lesson);
+
+            courseSummaryList.add(new CourseSummaryDto(course.getCourseId(), course.getName(), course.getDescription(), course.getImageUrl(),
+                    course.getCreationDate(), course.getLastUpdateDate(), course.getCourseStatus(), course.getCourseLevel(), course.getUserInstructor()));
+            moduleSummaryList.add(new ModuleSummaryDto(module.getModuleId(), module.getTitle(), module.getDescription(), module.getCreationDate()));
+            lessonSummaryList.add(new LessonSummaryDto(lesson.getLessonId(), lesson.getTitle(), lesson.getDescription(),
+                    lesson.getVideoUrl(), lesson.getCreationDate()));
+        }
+        var pageable = PageRequest.of(0, pageSize);
+        courses = new PageImpl<>(courseList, pageable, 10_000);
+        modules = new PageImpl<>(moduleList, pageable, 10_000);
+        lessons = new PageImpl<>(lessonList, pageable, 10_000);
+        courseSummaries = CompactPageDto.of(new PageImpl<>(courseSummaryList, pageable, 10_000));
+        moduleSummaries = CompactPageDto.of(new PageImpl<>(moduleSummaryList, pageable, 10_000));
+        lessonSummaries = CompactPageDto.of(new PageImpl<>(lessonSummaryList, pageable, 10_000));
+    }
+
+    @Benchmark
+    public byte[] coursePage(ResponseSize responseSize) throws JsonProcessingException {
+        return serialize(courses, responseSize);
+    }
+
+    @Benchmark
+    public byte[] modulePage(ResponseSize responseSize) throws JsonProcessingException {
+        return serialize(modules, responseSize);
+    }
+
+    @Benchmark
+    public byte[] lessonPage(ResponseSize responseSize) throws JsonProcessingException {
+        return serialize(lessons, responseSize);
+    }
+
+    @Benchmark
+    public byte[] coursePageCompact(ResponseSize responseSize) throws JsonProcessingException {
+        return serialize(courseSummaries, responseSize);
+    }
+
+    @Benchmark
+    public byte[] modulePageCompact(ResponseSize responseSize) throws JsonProcessingException {
+        return serialize(moduleSummaries, responseSize);
+    }
+
+    @Benchmark
+    public byte[] lessonPageCompact(ResponseSize responseSize) throws JsonProcessingException {
+        return serialize(lessonSummaries, responseSize);
+    }
+
+    private byte[] serialize(Object page, ResponseSize responseSize) throws JsonProcessingException {
+        byte[] response = objectMapper.writeValueAsBytes(page);
+        responseSize.responseBytes = response.length;
+        return response;
+    }
+}
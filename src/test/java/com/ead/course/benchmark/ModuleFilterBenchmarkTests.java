@@ -0,0 +1,173 @@
+package com.ead.course.benchmark;
+
+import com.ead.course.EmbeddedPostgresTests;
+import com.ead.course.models.CourseModel;
+import com.ead.course.models.LessonModel;
+import com.ead.course.models.ModuleModel;
+import com.ead.course.repositories.LessonRepository;
+import com.ead.course.repositories.ModuleRepository;
+import com.ead.course.specifications.SpecificationTemplate;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static com.ead.course.CourseFixtures.newCourse;
+import static com.ead.course.CourseFixtures.newLesson;
+import static com.ead.course.CourseFixtures.newModule;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Lists the modules of a course and the lessons of a module on 200 courses x 20 modules x 10 lessons, once with
+ * the member-of specifications the listings used before (a second root, cb.isMember and DISTINCT) and once with
+ * the foreign-key specifications of SpecificationTemplate, checks both return the same pages and reports the
+ * wall time of each. Run with {@code mvn test -Pbenchmark}.
+ */
+@Log4j2
+@Tag("benchmark")
+@ActiveProfiles("prod")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ModuleFilterBenchmarkTests extends EmbeddedPostgresTests {
+
+    private static final int COURSES = 200;
+    private static final int MODULES_PER_COURSE = 20;
+    private static final int LESSONS_PER_MODULE = 10;
+    private static final int WARM_UP = 100;
+    private static final int ITERATIONS = 500;
+    private static final Pageable PAGEABLE = PageRequest.of(0, 10, Sort.by("creationDate", "title"));
+
+    @Autowired
+    private ModuleRepository moduleRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final List<UUID> courseIds = new ArrayList<>();
+    private final List<UUID> moduleIds = new ArrayList<>();
+
+    @BeforeAll
+    void createCourses() {
+        transactionTemplate.executeWithoutResult(status -> {
+            var now = LocalDateTime.now(ZoneId.of("UTC"));
+            for (int c = 0; c < COURSES; c++) {
+                var course = newCourse("Course " + c);
+                entityManager.persist(course);
+                courseIds.add(course.getCourseId());
+                for (int m = 0; m < MODULES_PER_COURSE; m++) {
+                    var module = newModule(course, "Module " + m, now.plusSeconds(m));
+                    entityManager.persist(module);
+                    moduleIds.add(module.getModuleId());
+                    for (int l = 0; l < LESSONS_PER_MODULE; l++) {
+                        entityManager.persist(newLesson(module, "Lesson " + l, now.plusSeconds(l)));
+                    }
+                }
+                entityManager.flush();
+                entityManager.clear();
+            }
+        });
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void moduleListingMemberOfAndForeignKey() {
+        for (UUID courseId : courseIds.subList(0, 10)) {
+            assertEquals(ids(moduleRepository.findAll(memberOfCourse(courseId), PAGEABLE), ModuleModel::getModuleId),
+                    ids(moduleRepository.findAll(SpecificationTemplate.moduleCourseId(courseId), PAGEABLE), ModuleModel::getModuleId));
+        }
+
+        long memberOf = time(courseIds, courseId -> moduleRepository.findAll(memberOfCourse(courseId), PAGEABLE));
+        long foreignKey = time(courseIds, courseId -> moduleRepository.findAll(SpecificationTemplate.moduleCourseId(courseId), PAGEABLE));
+
+        log.info("Module listing over {} modules, {} pages - member of: {} ms, foreign key: {} ms",
+                COURSES * MODULES_PER_COURSE, ITERATIONS, memberOf, foreignKey);
+    }
+
+    @Test
+    void lessonListingMemberOfAndForeignKey() {
+        for (UUID moduleId : moduleIds.subList(0, 10)) {
+            assertEquals(ids(lessonRepository.findAll(memberOfModule(moduleId), PAGEABLE), LessonModel::getLessonId),
+                    ids(lessonRepository.findAll(SpecificationTemplate.lessonModuleId(moduleId), PAGEABLE), LessonModel::getLessonId));
+        }
+
+        long memberOf = time(moduleIds, moduleId -> lessonRepository.findAll(memberOfModule(moduleId), PAGEABLE));
+        long foreignKey = time(moduleIds, moduleId -> lessonRepository.findAll(SpecificationTemplate.lessonModuleId(moduleId), PAGEABLE));
+
+        log.info("Lesson listing over {} lessons, {} pages - member of: {} ms, foreign key: {} ms",
+                COURSES * MODULES_PER_COURSE * LESSONS_PER_MODULE, ITERATIONS, memberOf, foreignKey);
+    }
+
+    /**
+     * Runs the listing for the first {@link #WARM_UP} ids as warm-up, then {@link #ITERATIONS} times cycling over the ids.
+     *
+     * @return the wall time of the measured runs in milliseconds
+     */
+    private long time(List<UUID> ids, Function<UUID, Page<?>> listing) {
+        ids.subList(0, WARM_UP).forEach(listing::apply);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            listing.apply(ids.get(i % ids.size()));
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private static <T> List<UUID> ids(Page<T> page, Function<T, UUID> id) {
+        List<UUID> ids = new ArrayList<>();
+        page.forEach(element -> ids.add(id.apply(element)));
+        return ids;
+    }
+
+    /**
+     * The module listing specification SpecificationTemplate.moduleCourseId replaced.
+     */
+    private static Specification<ModuleModel> memberOfCourse(UUID courseId) {
+        return (root, query, cb) -> {
+            query.distinct(true);
+            Root<CourseModel> course = query.from(CourseModel.class);
+            Expression<Collection<ModuleModel>> courseModules = course.get("modules");
+            return cb.and(cb.equal(course.get("courseId"), courseId), cb.isMember(root, courseModules));
+        };
+    }
+
+    /**
+     * The lesson listing specification SpecificationTemplate.lessonModuleId replaced.
+     */
+    private static Specification<LessonModel> memberOfModule(UUID moduleId) {
+        return (root, query, cb) -> {
+            query.distinct(true);
+            Root<ModuleModel> module = query.from(ModuleModel.class);
+            Expression<Collection<LessonModel>> moduleLessons = module.get("lessons");
+            return cb.and(cb.equal(module.get("moduleId"), moduleId), cb.isMember(root, moduleLessons));
+        };
+    }
+}
@@ -0,0 +1,129 @@
+package com.ead.course.benchmark;
+
+import com.ead.course.dtos.KeysetCursorDto;
+import com.ead.course.enums.CourseLevel;
+import com.ead.course.enums.CourseStatus;
+import com.ead.course.models.CourseModel;
+import com.ead.course.models.LessonModel;
+import com.ead.course.models.ModuleModel;
+import com.ead.course.specifications.SpecificationTemplate;
+import net.kaczmarzyk.spring.data.jpa.web.SpecificationArgumentResolver;
+import org.hibernate.jpa.HibernatePersistenceProvider;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.MethodParameter;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the criteria predicates of SpecificationTemplate against a Hibernate metamodel booted without a
+ * database, so only the specification and criteria API cost is measured. The course filters are resolved from
+ * request parameters by the SpecificationArgumentResolver registered in ResolverConfig, as for GET /courses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpecificationBenchmark {
+
+    private final UUID id = UUID.randomUUID();
+    private final KeysetCursorDto cursor = new KeysetCursorDto("creationDate", Sort.Direction.ASC, LocalDateTime.now(), id);
+
+    private final SpecificationArgumentResolver specificationArgumentResolver = new SpecificationArgumentResolver();
+
+    private LocalContainerEntityManagerFactoryBean factoryBean;
+    private EntityManager entityManager;
+    private MethodParameter courseSpecParameter;
+    private NativeWebRequest courseFiltersRequest;
+    private NativeWebRequest courseStatusRequest;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setPersistenceProviderClass(HibernatePersistenceProvider.class);
+        factoryBean.setPackagesToScan("com.ead.course.models");
+        factoryBean.setJpaPropertyMap(Map.of(
+                "hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect",
+                "hibernate.temp.use_jdbc_metadata_defaults", "false",
+                "hibernate.hbm2ddl.auto", "none"));
+        factoryBean.afterPropertiesSet();
+        EntityManagerFactory entityManagerFactory = factoryBean.getObject();
+        entityManager = entityManagerFactory.createEntityManager();
+
+        courseSpecParameter = new MethodParameter(SpecificationBenchmark.class.getDeclaredMethod("getAllCourses", SpecificationTemplate.CourseSpec.class), 0);
+        var courseFilters = new MockHttpServletRequest("GET", "/api/v1/courses");
+        courseFilters.addParameter("courseLevel", CourseLevel.BEGINNER.name());
+        courseFilters.addParameter("courseStatus", CourseStatus.INPROGRESS.name());
+        courseFilters.addParameter("name", "java");
+        courseFiltersRequest = new ServletWebRequest(courseFilters);
+        var courseStatus = new MockHttpServletRequest("GET", "/api/v1/courses");
+        courseStatus.addParameter("courseStatus", CourseStatus.INPROGRESS.name());
+        courseStatusRequest = new ServletWebRequest(courseStatus);
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+        factoryBean.destroy();
+    }
+
+    @Benchmark
+    public Predicate courseFilters() throws Exception {
+        return toPredicate(CourseModel.class, resolveCourseSpec(courseFiltersRequest));
+    }
+
+    @Benchmark
+    public Predicate courseUserIdWithFilters() throws Exception {
+        Specification<CourseModel> spec = SpecificationTemplate.courseUserId(id).and(resolveCourseSpec(courseStatusRequest));
+        return toPredicate(CourseModel.class, spec);
+    }
+
+    @Benchmark
+    public Predicate moduleCourseId() {
+        return toPredicate(ModuleModel.class, SpecificationTemplate.moduleCourseId(id));
+    }
+
+    @Benchmark
+    public Predicate lessonModuleId() {
+        return toPredicate(LessonModel.class, SpecificationTemplate.lessonModuleId(id));
+    }
+
+    @Benchmark
+    public Predicate keysetAfter() {
+        return toPredicate(CourseModel.class, SpecificationTemplate.keysetAfter(cursor, "courseId"));
+    }
+
+    private SpecificationTemplate.CourseSpec resolveCourseSpec(NativeWebRequest request) throws Exception {
+        return (SpecificationTemplate.CourseSpec) specificationArgumentResolver.resolveArgument(courseSpecParameter, null, request, null);
+    }
+
+    /**
+     * Stands in for the controller method the resolver reads the CourseSpec parameter of.
+     */
+    @SuppressWarnings("unused")
+    private void getAllCourses(SpecificationTemplate.CourseSpec spec) {
+    }
+
+    private <T> Predicate toPredicate(Class<T> type, Specification<T> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(type);
+        Root<T> root = query.from(type);
+        return spec.toPredicate(root, query, cb);
+    }
+}
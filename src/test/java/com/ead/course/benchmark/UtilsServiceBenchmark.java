@@ -0,0 +1,38 @@
+package com.ead.course.benchmark;
+
+import com.ead.course.services.UtilsService;
+import com.ead.course.services.impl.UtilsServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * URL construction of the AuthUser calls, done on every roster request that falls back to the remote service.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UtilsServiceBenchmark {
+
+    private final UtilsService utilsService = new UtilsServiceImpl();
+    private final UUID courseId = UUID.randomUUID();
+    private final Pageable unsorted = PageRequest.of(2, 10);
+    private final Pageable sorted = PageRequest.of(2, 10, Sort.by(Sort.Direction.ASC, "userId").and(Sort.by(Sort.Direction.DESC, "fullname")));
+
+    @Benchmark
+    public String urlGetAllUsersByCourse() {
+        return utilsService.createUrlGetAllUsersByCourse(courseId, unsorted);
+    }
+
+    @Benchmark
+    public String urlGetAllUsersByCourseSorted() {
+        return utilsService.createUrlGetAllUsersByCourse(courseId, sorted);
+    }
+}
@@ -0,0 +1,72 @@
+package com.ead.course.consumers;
+
+import com.ead.course.clients.AuthUserClient;
+import com.ead.course.dtos.UserDto;
+import com.ead.course.dtos.UserEventDto;
+import com.ead.course.enums.ActionType;
+import com.ead.course.enums.UserStatus;
+import com.ead.course.enums.UserType;
+import com.ead.course.services.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class UserEventConsumerTests {
+
+    private UserEventBroker broker;
+    private UserService userService;
+    private AuthUserClient authUserClient;
+
+    @BeforeEach
+    void setUp() {
+        broker = new InMemoryUserEventBroker();
+        userService = mock(UserService.class);
+        authUserClient = mock(AuthUserClient.class);
+        new UserEventConsumer(broker, userService, authUserClient);
+    }
+
+    @Test
+    void updateEventStoresUserLocally() {
+        var event = event(ActionType.UPDATE);
+        event.setUserStatus(UserStatus.BLOCKED);
+
+        broker.publish(event);
+
+        ArgumentCaptor<UserDto> captor = ArgumentCaptor.forClass(UserDto.class);
+        verify(userService).save(captor.capture());
+        assertEquals(event.getUserId(), captor.getValue().getUserId());
+        assertEquals(UserStatus.BLOCKED, captor.getValue().getUserStatus());
+        assertEquals(UserType.STUDENT, captor.getValue().getUserType());
+        verify(authUserClient).evictUserById(event.getUserId());
+    }
+
+    @Test
+    void deleteEventRemovesUserLocally() {
+        var event = event(ActionType.DELETE);
+
+        broker.publish(event);
+
+        verify(userService).delete(event.getUserId());
+        verify(userService, never()).save(any());
+        verify(authUserClient).evictUserById(event.getUserId());
+    }
+
+    private UserEventDto event(ActionType actionType) {
+        var event = new UserEventDto();
+        event.setUserId(UUID.randomUUID());
+        event.setEmail("user@ead.com");
+        event.setFullname("User");
+        event.setUserStatus(UserStatus.ACTIVE);
+        event.setUserType(UserType.STUDENT);
+        event.setActionType(actionType);
+        return event;
+    }
+}
@@ -0,0 +1,113 @@
+package com.ead.course.controllers;
+
+import com.ead.course.EmbeddedPostgresTests;
+import com.ead.course.models.CourseUserModel;
+import com.ead.course.repositories.CourseRepository;
+import com.ead.course.repositories.CourseUserRepository;
+import com.ead.course.repositories.LessonRepository;
+import com.ead.course.repositories.ModuleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+import static com.ead.course.CourseFixtures.newCourse;
+import static com.ead.course.CourseFixtures.newLesson;
+import static com.ead.course.CourseFixtures.newModule;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+class CourseControllerTests extends EmbeddedPostgresTests {
+
+    private static final int MODULES = 3;
+    private static final int LESSONS_PER_MODULE = 4;
+    private static final Duration STREAM_REQUEST_TIMEOUT = Duration.ofMinutes(5);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ModuleRepository moduleRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private CourseUserRepository courseUserRepository;
+
+    @Test
+    void courseTreeReturnsModulesWithTheirLessons() throws Exception {
+        var now = LocalDateTime.now(ZoneId.of("UTC"));
+        var course = courseRepository.save(newCourse("Tree course"));
+        for (int m = 0; m < MODULES; m++) {
+            var module = moduleRepository.save(newModule(course, "Module " + m, now.plusSeconds(m)));
+            for (int l = 0; l < LESSONS_PER_MODULE; l++) {
+                lessonRepository.save(newLesson(module, "Lesson " + l, now.plusSeconds(l)));
+            }
+        }
+
+        mockMvc.perform(get("/api/v1/courses/{id}/tree", course.getCourseId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.modules", hasSize(MODULES)))
+                .andExpect(jsonPath("$.modules[0].title").value("Module 0"))
+                .andExpect(jsonPath("$.modules[*].lessons[*]", hasSize(MODULES * LESSONS_PER_MODULE)))
+                .andExpect(jsonPath("$.modules[0].lessons[0].title").value("Lesson 0"));
+    }
+
+    @Test
+    void courseExportStreamsUnderTheConfiguredRequestTimeout() throws Exception {
+        var course = courseRepository.save(newCourse("Export course"));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/courses/export").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertEquals(STREAM_REQUEST_TIMEOUT.toMillis(), result.getRequest().getAsyncContext().getTimeout());
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(course.getCourseId().toString())));
+    }
+
+    @Test
+    void coursesOfAUserCanBeSortedOnAnyColumn() throws Exception {
+        var userId = UUID.randomUUID();
+        var now = LocalDateTime.now(ZoneId.of("UTC"));
+        var older = newCourse("Older course");
+        older.setCreationDate(now.minusDays(1));
+        older = courseRepository.save(older);
+        var newer = courseRepository.save(newCourse("Newer course"));
+        courseUserRepository.save(new CourseUserModel(null, older, userId));
+        courseUserRepository.save(new CourseUserModel(null, newer, userId));
+        courseUserRepository.save(new CourseUserModel(null, newer, UUID.randomUUID()));
+
+        mockMvc.perform(get("/api/v1/courses").param("userId", userId.toString()).param("sort", "creationDate,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].courseId").value(newer.getCourseId().toString()))
+                .andExpect(jsonPath("$.content[1].courseId").value(older.getCourseId().toString()))
+                .andExpect(jsonPath("$.content[0].creationDate", notNullValue()));
+
+        mockMvc.perform(get("/api/v1/courses").param("userId", userId.toString()).param("sort", "version"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)));
+    }
+}
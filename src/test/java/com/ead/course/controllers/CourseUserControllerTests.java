@@ -0,0 +1,71 @@
+package com.ead.course.controllers;
+
+import com.ead.course.EmbeddedPostgresTests;
+import com.ead.course.enums.UserStatus;
+import com.ead.course.enums.UserType;
+import com.ead.course.models.CourseUserModel;
+import com.ead.course.models.UserModel;
+import com.ead.course.repositories.CourseRepository;
+import com.ead.course.repositories.CourseUserRepository;
+import com.ead.course.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+import static com.ead.course.CourseFixtures.newCourse;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+class CourseUserControllerTests extends EmbeddedPostgresTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseUserRepository courseUserRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void rosterIsACompactPageOfUserSummaries() throws Exception {
+        var course = courseRepository.save(newCourse("Roster course"));
+        for (String name : new String[]{"bob", "alice"}) {
+            var user = new UserModel();
+            user.setUserId(UUID.randomUUID());
+            user.setEmail(name + "@ead.com");
+            user.setFullname(name);
+            user.setUserStatus(UserStatus.ACTIVE);
+            user.setUserType(UserType.STUDENT);
+            user.setSyncDate(LocalDateTime.now(ZoneId.of("UTC")));
+            userRepository.save(user);
+            courseUserRepository.save(new CourseUserModel(null, course, user.getUserId()));
+        }
+
+        mockMvc.perform(get("/api/v1/courses/{courseId}/users", course.getCourseId()).param("sort", "email"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].email").value("alice@ead.com"))
+                .andExpect(jsonPath("$.content[0].syncDate").doesNotExist())
+                .andExpect(jsonPath("$.totalElements").value(2));
+    }
+
+    @Test
+    void rosterSortedOnAnUnknownPropertyIsABadRequest() throws Exception {
+        var course = courseRepository.save(newCourse("Roster course"));
+
+        mockMvc.perform(get("/api/v1/courses/{courseId}/users", course.getCourseId()).param("sort", "username"))
+                .andExpect(status().isBadRequest());
+    }
+}
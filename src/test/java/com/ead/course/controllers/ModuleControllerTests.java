@@ -0,0 +1,90 @@
+package com.ead.course.controllers;
+
+import com.ead.course.EmbeddedPostgresTests;
+import com.ead.course.repositories.CourseRepository;
+import com.ead.course.repositories.LessonRepository;
+import com.ead.course.repositories.ModuleRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+import static com.ead.course.CourseFixtures.newCourse;
+import static com.ead.course.CourseFixtures.newLesson;
+import static com.ead.course.CourseFixtures.newModule;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+class ModuleControllerTests extends EmbeddedPostgresTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ModuleRepository moduleRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Test
+    void deleteModuleRemovesItsLessons() throws Exception {
+        var now = LocalDateTime.now(ZoneId.of("UTC"));
+        var course = courseRepository.save(newCourse("Module course"));
+        var module = moduleRepository.save(newModule(course, "Module", now));
+        for (int i = 0; i < 3; i++) {
+            lessonRepository.save(newLesson(module, "Lesson " + i, now));
+        }
+        UUID moduleId = module.getModuleId();
+        // puts the module and its lessons collection in the second-level cache
+        transactionTemplate.executeWithoutResult(status ->
+                Hibernate.initialize(moduleRepository.findById(moduleId).orElseThrow().getLessons()));
+
+        mockMvc.perform(delete("/api/v1/courses/{courseId}/modules/{moduleId}", course.getCourseId(), moduleId))
+                .andExpect(status().isNoContent());
+
+        assertFalse(moduleRepository.existsById(moduleId));
+        assertTrue(lessonRepository.findAllLessonsIntoModule(moduleId).isEmpty());
+    }
+
+    @Test
+    void modulesByCursorAreSummaries() throws Exception {
+        var now = LocalDateTime.now(ZoneId.of("UTC"));
+        var course = courseRepository.save(newCourse("Cursor course"));
+        for (int i = 0; i < 3; i++) {
+            moduleRepository.save(newModule(course, "Module " + i, now.plusSeconds(i)));
+        }
+
+        String firstSlice = mockMvc.perform(get("/api/v1/courses/{courseId}/modules", course.getCourseId())
+                        .param("cursor", "").param("size", "2").param("sort", "creationDate"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].title").value("Module 0"))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/api/v1/courses/{courseId}/modules", course.getCourseId())
+                        .param("cursor", JsonPath.<String>read(firstSlice, "$.nextCursor")).param("size", "2").param("sort", "creationDate"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].title").value("Module 2"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+}
@@ -0,0 +1,83 @@
+package com.ead.course.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the AuthUser endpoints called by AuthUserClient. Every user exists, is ACTIVE and is an
+ * INSTRUCTOR, so course creation, validation and subscriptions always succeed; rosters are empty.
+ */
+class AuthUserStub implements AutoCloseable {
+
+    static final String CONTEXT_PATH = "/ead-authuser";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newFixedThreadPool(32);
+    private final AtomicLong requests = new AtomicLong();
+
+    AuthUserStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext(CONTEXT_PATH + "/api/v1/users", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    long getRequests() {
+        return requests.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        exchange.getRequestBody().readAllBytes();
+        String path = exchange.getRequestURI().getPath().substring(CONTEXT_PATH.length());
+        String method = exchange.getRequestMethod();
+
+        if ("GET".equals(method) && path.equals("/api/v1/users")) {
+            respond(exchange, 200, "{\"content\":[],\"number\":0,\"size\":10,\"totalElements\":0,\"last\":true," +
+                    "\"totalPages\":0,\"first\":true,\"empty\":true}");
+        } else if ("GET".equals(method) && path.startsWith("/api/v1/users/")) {
+            String userId = path.substring("/api/v1/users/".length());
+            respond(exchange, 200, "{\"userId\":\"" + UUID.fromString(userId) + "\",\"username\":\"user\",\"email\":\"user@ead.com\"," +
+                    "\"fullname\":\"Load User\",\"userStatus\":\"ACTIVE\",\"userType\":\"INSTRUCTOR\"}");
+        } else if ("POST".equals(method) && path.endsWith("/courses/subscription")) {
+            respond(exchange, 201, null);
+        } else if ("DELETE".equals(method) && path.startsWith("/api/v1/users/courses/")) {
+            respond(exchange, 204, null);
+        } else {
+            respond(exchange, 404, null);
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+            return;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,367 @@
+package com.ead.course.loadtest;
+
+import com.ead.course.EmbeddedPostgresTests;
+import com.ead.course.enums.CourseLevel;
+import com.ead.course.enums.CourseStatus;
+import com.ead.course.enums.UserStatus;
+import com.ead.course.enums.UserType;
+import com.ead.course.models.CourseModel;
+import com.ead.course.models.CourseUserModel;
+import com.ead.course.models.LessonModel;
+import com.ead.course.models.ModuleModel;
+import com.ead.course.models.UserModel;
+import com.ead.course.repositories.CourseRepository;
+import com.ead.course.repositories.CourseUserRepository;
+import com.ead.course.repositories.LessonRepository;
+import com.ead.course.repositories.ModuleRepository;
+import com.ead.course.repositories.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.extern.log4j.Log4j2;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static com.ead.course.CourseFixtures.newCourse;
+import static com.ead.course.CourseFixtures.newLesson;
+import static com.ead.course.CourseFixtures.newModule;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Boots the service on an embedded Postgres with a local AuthUser stub and drives every controller, first one
+ * endpoint at a time (latency, throughput and statements per request of each endpoint) and then as a weighted
+ * mix. Results are logged and written to target/loadtest-result.json. Query budgets are enforced, a request
+ * exceeding the @QueryBudget of its endpoint answers 500 and fails the test.
+ * Run with {@code mvn test -Ploadtest}, sized with -Dloadtest.requests and -Dloadtest.concurrency.
+ */
+@Log4j2
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "ead.query-budget.mode=FAIL",
+        "logging.level.com.ead=WARN",
+        "logging.level.com.ead.course.loadtest=INFO",
+        "logging.level.org.springframework.web=WARN"
+})
+class CourseLoadTests extends EmbeddedPostgresTests {
+
+    private static final int REQUESTS = Integer.getInteger("loadtest.requests", 2000);
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 32);
+    private static final int COURSES = 200;
+    private static final int MODULES_PER_COURSE = 5;
+    private static final int LESSONS_PER_MODULE = 10;
+    private static final int USERS_PER_COURSE = 20;
+
+    private static AuthUserStub authUser;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ModuleRepository moduleRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private CourseUserRepository courseUserRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final List<UUID> courseIds = new ArrayList<>();
+    private final List<UUID> moduleIds = new ArrayList<>();
+    private final Queue<UUID> disposableCourseIds = new ConcurrentLinkedQueue<>();
+
+    @DynamicPropertySource
+    static void authUser(DynamicPropertyRegistry registry) throws IOException {
+        authUser = new AuthUserStub();
+        registry.add("spring.cloud.discovery.client.simple.instances.ead-authuser-service[0].uri",
+                () -> "http://localhost:" + authUser.getPort());
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        authUser.close();
+    }
+
+    @Test
+    void mixedWorkload() throws Exception {
+        int isolatedRequests = Math.max(REQUESTS / 4, 1);
+        seed(COURSES, false);
+        seed(isolatedRequests + REQUESTS / 10 + CONCURRENCY, true);
+
+        List<Scenario> scenarios = List.of(
+                new Scenario("GET /courses", 25, () -> get("/api/v1/courses?page=" + random(COURSES / 10) + "&size=10")),
+                new Scenario("GET /courses?cursor", 10, () -> get("/api/v1/courses?cursor=&size=10&sort=creationDate")),
+                new Scenario("GET /courses/{id}", 10, () -> get("/api/v1/courses/" + randomOf(courseIds))),
+                new Scenario("GET /courses/{id}/tree", 5, () -> get("/api/v1/courses/" + randomOf(courseIds) + "/tree")),
+                new Scenario("GET /courses/{id}/modules", 10, () -> get("/api/v1/courses/" + randomOf(courseIds) + "/modules")),
+                new Scenario("GET /modules/{id}/lessons", 10, () -> get("/api/v1/modules/" + randomOf(moduleIds) + "/lessons")),
+                new Scenario("GET /courses/{id}/users", 5, () -> get("/api/v1/courses/" + randomOf(courseIds) + "/users")),
+                new Scenario("POST /courses/{id}/users/subscription", 10, () -> post("/api/v1/courses/" + randomOf(courseIds) + "/users/subscription",
+                        "{\"userId\":\"" + UUID.randomUUID() + "\"}")),
+                new Scenario("POST /courses/{id}/modules", 5, () -> post("/api/v1/courses/" + randomOf(courseIds) + "/modules",
+                        "{\"title\":\"Load module\",\"description\":\"Load module\"}")),
+                new Scenario("POST /modules/{id}/lessons", 5, () -> post("/api/v1/modules/" + randomOf(moduleIds) + "/lessons",
+                        "{\"title\":\"Load lesson\",\"description\":\"Load lesson\",\"videoUrl\":\"https://videos.ead.com/load\"}")),
+                new Scenario("DELETE /courses/{id}", 5, () -> {
+                    UUID courseId = disposableCourseIds.poll();
+                    return courseId == null ? null : HttpRequest.newBuilder(uri("/api/v1/courses/" + courseId)).DELETE().build();
+                })
+        );
+
+        run(scenarios, isolatedRequests / 4);
+
+        Map<String, Result> isolated = new LinkedHashMap<>();
+        for (Scenario scenario : scenarios) {
+            isolated.putAll(run(List.of(scenario), isolatedRequests));
+        }
+        Map<String, Result> mixed = run(scenarios, REQUESTS);
+
+        isolated.values().forEach(result -> log.info("isolated {}", result));
+        mixed.values().forEach(result -> log.info("mixed {}", result));
+        log.info("AuthUser stub requests: {}", authUser.getRequests());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("requests", REQUESTS);
+        report.put("concurrency", CONCURRENCY);
+        report.put("isolated", isolated.values());
+        report.put("mixed", mixed.values());
+        File target = new File("target");
+        target.mkdirs();
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(new File(target, "loadtest-result.json"), report);
+
+        for (Result result : isolated.values()) {
+            assertEquals(0, result.getServerErrors(), result.getScenario() + " answered server errors in isolation");
+        }
+        for (Result result : mixed.values()) {
+            assertEquals(0, result.getServerErrors(), result.getScenario() + " answered server errors");
+        }
+    }
+
+    /**
+     * Runs the scenarios, picked at random by weight, until the requests are exhausted. The statements are the
+     * statements prepared by Hibernate during the run, so they are only attributed to a single endpoint when the
+     * run has a single scenario; the mixed run reports its total under "ALL".
+     */
+    private Map<String, Result> run(List<Scenario> scenarios, int requests) throws InterruptedException {
+        int totalWeight = scenarios.stream().mapToInt(Scenario::getWeight).sum();
+        Map<String, Queue<Long>> latencies = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> clientErrors = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> serverErrors = new ConcurrentHashMap<>();
+        scenarios.forEach(scenario -> {
+            latencies.put(scenario.getName(), new ConcurrentLinkedQueue<>());
+            clientErrors.put(scenario.getName(), new AtomicInteger());
+            serverErrors.put(scenario.getName(), new AtomicInteger());
+        });
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long statementsBefore = statistics.getPrepareStatementCount();
+        AtomicInteger remaining = new AtomicInteger(requests);
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        long start = System.nanoTime();
+        for (int i = 0; i < CONCURRENCY; i++) {
+            executor.submit(() -> {
+                while (remaining.getAndDecrement() > 0) {
+                    Scenario scenario = pick(scenarios, totalWeight);
+                    HttpRequest request = scenario.getRequest().get();
+                    if (request == null) {
+                        continue;
+                    }
+                    long requestStart = System.nanoTime();
+                    int status;
+                    try {
+                        status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (IOException e) {
+                        status = 599;
+                    }
+                    latencies.get(scenario.getName()).add(System.nanoTime() - requestStart);
+                    if (status >= 500) {
+                        serverErrors.get(scenario.getName()).incrementAndGet();
+                    } else if (status >= 400) {
+                        clientErrors.get(scenario.getName()).incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.MINUTES);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long statements = statistics.getPrepareStatementCount() - statementsBefore;
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        int completed = 0;
+        for (Scenario scenario : scenarios) {
+            long[] values = latencies.get(scenario.getName()).stream().mapToLong(Long::longValue).sorted().toArray();
+            completed += values.length;
+            results.put(scenario.getName(), new Result(scenario.getName(), values.length, clientErrors.get(scenario.getName()).get(),
+                    serverErrors.get(scenario.getName()).get(), percentile(values, 0.50), percentile(values, 0.99),
+                    values.length / seconds, scenarios.size() == 1 && values.length > 0 ? (double) statements / values.length : null));
+        }
+        if (scenarios.size() > 1) {
+            results.put("ALL", new Result("ALL", completed, 0, 0, null, null, completed / seconds,
+                    completed > 0 ? (double) statements / completed : null));
+        }
+        return results;
+    }
+
+    /**
+     * Inserts the courses with their modules, lessons and course users, and the local copy of each of these users
+     * so the roster is served locally as in production. Disposable courses are only used by the deletion
+     * scenario, so each one is deleted at most once.
+     */
+    private void seed(int courses, boolean disposable) {
+        var now = LocalDateTime.now(ZoneId.of("UTC"));
+        List<CourseModel> courseModels = new ArrayList<>();
+        for (int c = 0; c < courses; c++) {
+            var course = newCourse("Load course " + c);
+            course.setCourseStatus(c % 2 == 0 ? CourseStatus.INPROGRESS : CourseStatus.CONCLUDED);
+            course.setCourseLevel(CourseLevel.values()[c % CourseLevel.values().length]);
+            course.setCreationDate(now.plusSeconds(c));
+            course.setLastUpdateDate(now.plusSeconds(c));
+            courseModels.add(course);
+        }
+        courseRepository.saveAll(courseModels);
+
+        List<ModuleModel> modules = new ArrayList<>();
+        List<LessonModel> lessons = new ArrayList<>();
+        List<CourseUserModel> courseUsers = new ArrayList<>();
+        List<UserModel> users = new ArrayList<>();
+        for (CourseModel course : courseModels) {
+            for (int m = 0; m < MODULES_PER_COURSE; m++) {
+                var module = newModule(course, "Load module " + m, now.plusSeconds(m));
+                modules.add(module);
+                for (int l = 0; l < LESSONS_PER_MODULE; l++) {
+                    lessons.add(newLesson(module, "Load lesson " + l, now.plusSeconds(l)));
+                }
+            }
+            for (int u = 0; u < USERS_PER_COURSE; u++) {
+                var user = new UserModel();
+                user.setUserId(UUID.randomUUID());
+                user.setEmail(user.getUserId() + "@ead.com");
+                user.setFullname("Load user " + u);
+                user.setUserStatus(UserStatus.ACTIVE);
+                user.setUserType(UserType.STUDENT);
+                user.setSyncDate(now);
+                users.add(user);
+                courseUsers.add(new CourseUserModel(null, course, user.getUserId()));
+            }
+        }
+        moduleRepository.saveAll(modules);
+        lessonRepository.saveAll(lessons);
+        userRepository.saveAll(users);
+        courseUserRepository.saveAll(courseUsers);
+        courseModels.forEach(course -> (disposable ? disposableCourseIds : courseIds).add(course.getCourseId()));
+        if (!disposable) {
+            modules.forEach(module -> moduleIds.add(module.getModuleId()));
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + "/ead-course" + path);
+    }
+
+    private static Scenario pick(List<Scenario> scenarios, int totalWeight) {
+        int value = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Scenario scenario : scenarios) {
+            value -= scenario.getWeight();
+            if (value < 0) {
+                return scenario;
+            }
+        }
+        return scenarios.get(scenarios.size() - 1);
+    }
+
+    private static int random(int bound) {
+        return ThreadLocalRandom.current().nextInt(Math.max(bound, 1));
+    }
+
+    private static UUID randomOf(List<UUID> ids) {
+        return ids.get(random(ids.size()));
+    }
+
+    private static Double percentile(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return null;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1e6;
+    }
+
+    @Data
+    @AllArgsConstructor
+    private static class Scenario {
+        private String name;
+        private int weight;
+        private Supplier<HttpRequest> request;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class Result {
+        private String scenario;
+        private int requests;
+        private int clientErrors;
+        private int serverErrors;
+        private Double p50Ms;
+        private Double p99Ms;
+        private double throughput;
+        private Double statementsPerRequest;
+    }
+}
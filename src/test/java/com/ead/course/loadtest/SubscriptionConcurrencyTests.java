@@ -0,0 +1,133 @@
+package com.ead.course.loadtest;
+
+import com.ead.course.EmbeddedPostgresTests;
+import com.ead.course.models.CourseModel;
+import com.ead.course.models.CourseUserModel;
+import com.ead.course.repositories.CourseRepository;
+import com.ead.course.repositories.CourseUserRepository;
+import com.ead.course.services.CourseUserService;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.ead.course.CourseFixtures.newCourse;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Thousands of parallel subscriptions of the same users to one course on an embedded Postgres: every user ends
+ * up registered exactly once and every duplicate is reported as such instead of failing.
+ * Run with {@code mvn test -Ploadtest}.
+ */
+@Log4j2
+@Tag("loadtest")
+@SpringBootTest(properties = {
+        "logging.level.com.ead=WARN",
+        "logging.level.com.ead.course.loadtest=INFO"
+})
+class SubscriptionConcurrencyTests extends EmbeddedPostgresTests {
+
+    private static final int SUBSCRIPTIONS = 5000;
+    private static final int USERS = 250;
+    private static final int THREADS = 64;
+    private static final int BULK_SIZE = 50;
+
+    @Autowired
+    private CourseUserService courseUserService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseUserRepository courseUserRepository;
+
+    @Test
+    void parallelSubscriptionsRegisterEveryUserOnce() throws Exception {
+        CourseModel course = courseRepository.save(newCourse("Concurrency course"));
+        List<UUID> users = newUsers();
+        var subscribed = new AtomicInteger();
+        var alreadyRegistered = new AtomicInteger();
+
+        long elapsed = runConcurrently(SUBSCRIPTIONS, i -> () -> {
+            var courseUser = new CourseUserModel(null, course, users.get(i % USERS));
+            if (courseUserService.saveAndSendSubscriptionUserInCourse(courseUser).isPresent()) {
+                subscribed.incrementAndGet();
+            } else {
+                alreadyRegistered.incrementAndGet();
+            }
+            return null;
+        });
+
+        log.info("{} parallel subscriptions of {} users in {} ms", SUBSCRIPTIONS, USERS, elapsed);
+        assertEquals(USERS, subscribed.get());
+        assertEquals(SUBSCRIPTIONS - USERS, alreadyRegistered.get());
+        assertEquals(USERS, courseUserRepository.countByCourse(course));
+    }
+
+    @Test
+    void parallelBulkSubscriptionsRegisterEveryUserOnce() throws Exception {
+        CourseModel course = courseRepository.save(newCourse("Concurrency course"));
+        List<UUID> users = newUsers();
+        var subscribed = new AtomicInteger();
+        int batches = SUBSCRIPTIONS / BULK_SIZE;
+
+        long elapsed = runConcurrently(batches, i -> () -> {
+            List<CourseUserModel> courseUsers = ThreadLocalRandom.current().ints(0, USERS).distinct().limit(BULK_SIZE)
+                    .mapToObj(user -> new CourseUserModel(null, course, users.get(user)))
+                    .collect(Collectors.toList());
+            subscribed.addAndGet(courseUserService.saveAllAndSendSubscriptionUsersInCourse(courseUsers).size());
+            return null;
+        });
+
+        log.info("{} parallel bulk subscriptions of {} users in {} ms", batches, BULK_SIZE, elapsed);
+        long registered = courseUserRepository.countByCourse(course);
+        assertEquals(registered, subscribed.get());
+        assertTrue(registered <= USERS);
+    }
+
+    /**
+     * Submits the tasks to a pool of THREADS and releases them at once.
+     *
+     * @return the wall time in milliseconds, after every task completed without error
+     */
+    private long runConcurrently(int tasks, IntFunction<Callable<Void>> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        var start = new CountDownLatch(1);
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < tasks; i++) {
+            Callable<Void> callable = task.apply(i);
+            futures.add(executor.submit(() -> {
+                start.await();
+                return callable.call();
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<Void> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+        return (System.nanoTime() - begin) / 1_000_000;
+    }
+
+    private static List<UUID> newUsers() {
+        return IntStream.range(0, USERS).mapToObj(i -> UUID.randomUUID()).collect(Collectors.toList());
+    }
+}
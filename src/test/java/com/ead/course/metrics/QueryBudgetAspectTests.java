@@ -0,0 +1,75 @@
+package com.ead.course.metrics;
+
+import com.ead.course.enums.QueryBudgetMode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class QueryBudgetAspectTests {
+
+    private final QueryCounter queryCounter = new QueryCounter();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void failsWhenBudgetIsExceeded() {
+        Queries queries = proxy(QueryBudgetMode.FAIL);
+
+        assertDoesNotThrow(() -> queries.withinBudget());
+        assertThrows(QueryBudgetExceededException.class, () -> queries.overBudget());
+        assertEquals(1.0, meterRegistry.counter("ead.query.budget.exceeded", "method", "Queries.overBudget").count());
+    }
+
+    @Test
+    void onlyLogsWhenBudgetIsExceededInLogMode() {
+        Queries queries = proxy(QueryBudgetMode.LOG);
+
+        assertDoesNotThrow(() -> queries.overBudget());
+        assertEquals(1.0, meterRegistry.counter("ead.query.budget.exceeded", "method", "Queries.overBudget").count());
+    }
+
+    @Test
+    void countsNestedCallsWithTheOuterMethod() {
+        Queries queries = proxy(QueryBudgetMode.FAIL);
+
+        assertThrows(QueryBudgetExceededException.class, () -> queries.callsWithinBudgetTwice(queries));
+    }
+
+    private Queries proxy(QueryBudgetMode mode) {
+        var factory = new AspectJProxyFactory(new Queries(queryCounter));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new QueryBudgetAspect(queryCounter, meterRegistry, mode));
+        return factory.getProxy();
+    }
+
+    static class Queries {
+
+        private final QueryCounter queryCounter;
+
+        Queries(QueryCounter queryCounter) {
+            this.queryCounter = queryCounter;
+        }
+
+        @QueryBudget(2)
+        public void withinBudget() {
+            queryCounter.statementIssued();
+            queryCounter.statementIssued();
+        }
+
+        @QueryBudget(2)
+        public void overBudget() {
+            queryCounter.statementIssued();
+            queryCounter.statementIssued();
+            queryCounter.statementIssued();
+        }
+
+        @QueryBudget(3)
+        public void callsWithinBudgetTwice(Queries self) {
+            self.withinBudget();
+            self.withinBudget();
+        }
+    }
+}
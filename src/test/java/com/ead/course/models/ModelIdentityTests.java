@@ -0,0 +1,105 @@
+package com.ead.course.models;
+
+import com.ead.course.EmbeddedPostgresTests;
+import com.ead.course.metrics.QueryCounter;
+import com.ead.course.repositories.CourseRepository;
+import com.ead.course.repositories.CourseUserRepository;
+import com.ead.course.repositories.LessonRepository;
+import com.ead.course.repositories.ModuleRepository;
+import lombok.extern.log4j.Log4j2;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.ead.course.CourseFixtures.newCourse;
+import static com.ead.course.CourseFixtures.newLesson;
+import static com.ead.course.CourseFixtures.newModule;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Loads a course tree from Postgres and checks that hashing and logging the entities leaves their lazy
+ * associations alone: any access to one of them would show up as a statement on the {@link QueryCounter}.
+ */
+@Log4j2
+class ModelIdentityTests extends EmbeddedPostgresTests {
+
+    @Autowired
+    private QueryCounter queryCounter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ModuleRepository moduleRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private CourseUserRepository courseUserRepository;
+
+    @Test
+    void hashingAndLoggingNeverTouchAssociations() {
+        var now = LocalDateTime.now(ZoneId.of("UTC"));
+        var course = courseRepository.save(newCourse("Java"));
+        var module = moduleRepository.save(newModule(course, "Module", now));
+        var lesson = lessonRepository.save(newLesson(module, "Lesson", now));
+        var courseUser = courseUserRepository.save(new CourseUserModel(null, course, UUID.randomUUID()));
+        UUID courseId = course.getCourseId();
+        UUID moduleId = module.getModuleId();
+        UUID lessonId = lesson.getLessonId();
+        UUID courseUserId = courseUser.getId();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            var loadedCourse = courseRepository.findById(courseId).orElseThrow();
+            var loadedModule = moduleRepository.findById(moduleId).orElseThrow();
+            var loadedLesson = lessonRepository.findById(lessonId).orElseThrow();
+            var loadedCourseUser = courseUserRepository.findById(courseUserId).orElseThrow();
+            long statements = queryCounter.getStatements();
+
+            Set<Object> entities = new HashSet<>();
+            entities.add(loadedCourse);
+            entities.add(loadedModule);
+            entities.add(loadedLesson);
+            entities.add(loadedCourseUser);
+            log.info("Loaded {}, {}, {} and {}", loadedCourse, loadedModule, loadedLesson, loadedCourseUser);
+
+            assertEquals(0, queryCounter.getStatements() - statements);
+            assertEquals(4, entities.size());
+            assertTrue(entities.contains(loadedCourse));
+            assertTrue(loadedCourse.toString().contains("Java"));
+            assertFalse(Hibernate.isInitialized(loadedCourse.getModules()));
+            assertFalse(Hibernate.isInitialized(loadedCourse.getCourseUsers()));
+            assertFalse(Hibernate.isInitialized(loadedModule.getLessons()));
+        });
+    }
+
+    @Test
+    void equalityIsBasedOnTheId() {
+        UUID courseId = UUID.randomUUID();
+        var course = new CourseModel();
+        course.setCourseId(courseId);
+        course.setName("Java");
+        var sameCourse = new CourseModel();
+        sameCourse.setCourseId(courseId);
+        sameCourse.setName("Java 17");
+
+        assertEquals(course, sameCourse);
+        assertEquals(course.hashCode(), sameCourse.hashCode());
+        assertNotEquals(new CourseModel(), new CourseModel());
+        assertFalse(course.equals(new ModuleModel()));
+    }
+}
@@ -0,0 +1,111 @@
+package com.ead.course.services.impl;
+
+import com.ead.course.EmbeddedPostgresTests;
+import com.ead.course.clients.AuthUserClient;
+import com.ead.course.enums.OutboxEventType;
+import com.ead.course.models.OutboxEventModel;
+import com.ead.course.repositories.OutboxEventRepository;
+import com.ead.course.services.OutboxEventService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class OutboxEventServiceImplTests extends EmbeddedPostgresTests {
+
+    private static final int SUBSCRIPTIONS = 5;
+
+    @Autowired
+    private OutboxEventService outboxEventService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @MockBean
+    private AuthUserClient authUserClient;
+
+    private LocalDateTime creationDate;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAll();
+        creationDate = LocalDateTime.now(ZoneId.of("UTC")).minusMinutes(1);
+    }
+
+    @Test
+    void subscriptionsOfACourseAreSentInOneDispatch() {
+        UUID courseId = UUID.randomUUID();
+        for (int i = 0; i < SUBSCRIPTIONS; i++) {
+            save(OutboxEventType.SUBSCRIPTION_USER_IN_COURSE, courseId, UUID.randomUUID());
+        }
+
+        assertEquals(SUBSCRIPTIONS, outboxEventService.dispatchPendingEvents());
+        verify(authUserClient, times(SUBSCRIPTIONS)).postSubscriptionUserInCourse(any(), any());
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    void courseDeletionIsSentBetweenTheSubscriptionsAroundIt() {
+        UUID courseId = UUID.randomUUID();
+        UUID earlierUserId = UUID.randomUUID();
+        UUID laterUserId = UUID.randomUUID();
+        save(OutboxEventType.SUBSCRIPTION_USER_IN_COURSE, courseId, earlierUserId);
+        save(OutboxEventType.DELETE_COURSE_IN_AUTHUSER, courseId, null);
+        save(OutboxEventType.SUBSCRIPTION_USER_IN_COURSE, courseId, laterUserId);
+
+        assertEquals(1, outboxEventService.dispatchPendingEvents());
+        verify(authUserClient).postSubscriptionUserInCourse(courseId, earlierUserId);
+        verify(authUserClient, never()).deleteCourseInAuthUser(any());
+
+        assertEquals(1, outboxEventService.dispatchPendingEvents());
+        verify(authUserClient).deleteCourseInAuthUser(courseId);
+        verify(authUserClient, never()).postSubscriptionUserInCourse(courseId, laterUserId);
+
+        assertEquals(1, outboxEventService.dispatchPendingEvents());
+        verify(authUserClient).postSubscriptionUserInCourse(courseId, laterUserId);
+    }
+
+    @Test
+    void rejectedEventIsParkedAndNoLongerHoldsBackItsCourse() {
+        UUID courseId = UUID.randomUUID();
+        UUID deletedUserId = UUID.randomUUID();
+        doThrow(WebClientResponseException.create(404, "Not Found", null, null, null))
+                .when(authUserClient).postSubscriptionUserInCourse(courseId, deletedUserId);
+        OutboxEventModel rejected = save(OutboxEventType.SUBSCRIPTION_USER_IN_COURSE, courseId, deletedUserId);
+        save(OutboxEventType.DELETE_COURSE_IN_AUTHUSER, courseId, null);
+
+        assertEquals(1, outboxEventService.dispatchPendingEvents());
+        assertNotNull(outboxEventRepository.findById(rejected.getId()).orElseThrow().getParkedDate());
+
+        assertEquals(1, outboxEventService.dispatchPendingEvents());
+        verify(authUserClient).deleteCourseInAuthUser(courseId);
+        assertEquals(0, outboxEventService.dispatchPendingEvents());
+    }
+
+    /**
+     * Events are spaced one second apart so their order does not depend on the clock resolution.
+     */
+    private OutboxEventModel save(OutboxEventType eventType, UUID courseId, UUID userId) {
+        creationDate = creationDate.plusSeconds(1);
+        var event = new OutboxEventModel();
+        event.setEventType(eventType);
+        event.setCourseId(courseId);
+        event.setUserId(userId);
+        event.setCreationDate(creationDate);
+        event.setNextAttemptDate(creationDate);
+        return outboxEventRepository.save(event);
+    }
+}
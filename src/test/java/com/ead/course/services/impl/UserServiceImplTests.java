@@ -0,0 +1,122 @@
+package com.ead.course.services.impl;
+
+import com.ead.course.clients.AuthUserClient;
+import com.ead.course.dtos.UserDto;
+import com.ead.course.enums.UserStatus;
+import com.ead.course.enums.UserType;
+import com.ead.course.models.UserModel;
+import com.ead.course.repositories.UserRepository;
+import com.ead.course.services.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceImplTests {
+
+    private static final Duration LOCAL_TTL = Duration.ofMinutes(5);
+
+    private UserRepository userRepository;
+    private AuthUserClient authUserClient;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        authUserClient = mock(AuthUserClient.class);
+        userService = new UserServiceImpl(userRepository, authUserClient, LOCAL_TTL, 4);
+        when(userRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void freshLocalUserIsNotFetched() {
+        var user = localUser(LocalDateTime.now(ZoneId.of("UTC")).minusMinutes(1));
+        when(userRepository.findById(user.getUserId())).thenReturn(Optional.of(user));
+
+        assertEquals(UserStatus.ACTIVE, userService.findOrFetchById(user.getUserId()).orElseThrow().getUserStatus());
+        verify(authUserClient, never()).getOneUserById(any());
+    }
+
+    @Test
+    void staleLocalUserIsFetchedAgainFromAuthUser() {
+        var user = localUser(LocalDateTime.now(ZoneId.of("UTC")).minus(LOCAL_TTL).minusMinutes(1));
+        when(userRepository.findById(user.getUserId())).thenReturn(Optional.of(user));
+        when(authUserClient.getOneUserById(user.getUserId()))
+                .thenReturn(ResponseEntity.ok(remoteUser(user.getUserId(), UserStatus.BLOCKED)));
+
+        assertEquals(UserStatus.BLOCKED, userService.findOrFetchById(user.getUserId()).orElseThrow().getUserStatus());
+        verify(authUserClient).evictUserById(user.getUserId());
+    }
+
+    @Test
+    void missingUserIsInsertedWithoutMerge() {
+        var userId = UUID.randomUUID();
+        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(authUserClient.getOneUserById(userId)).thenReturn(ResponseEntity.ok(remoteUser(userId, UserStatus.ACTIVE)));
+
+        userService.findOrFetchById(userId);
+
+        ArgumentCaptor<UserModel> captor = ArgumentCaptor.forClass(UserModel.class);
+        verify(userRepository).save(captor.capture());
+        assertTrue(captor.getValue().isNew());
+    }
+
+    @Test
+    void bulkLookupFetchesMissingUsersAndLeavesFailedOnesOut() {
+        var stored = localUser(LocalDateTime.now(ZoneId.of("UTC")));
+        var fetchedId = UUID.randomUUID();
+        var unknownId = UUID.randomUUID();
+        var failingId = UUID.randomUUID();
+        when(userRepository.findAllById(any())).thenReturn(List.of(stored));
+        when(authUserClient.getOneUserById(fetchedId)).thenReturn(ResponseEntity.ok(remoteUser(fetchedId, UserStatus.ACTIVE)));
+        when(authUserClient.getOneUserById(unknownId)).thenThrow(WebClientResponseException.create(404, "Not Found", null, null, null));
+        when(authUserClient.getOneUserById(failingId)).thenThrow(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE));
+
+        Map<UUID, Optional<UserModel>> users = userService.findOrFetchAllByIds(List.of(stored.getUserId(), fetchedId, unknownId, failingId));
+
+        assertEquals(Optional.of(stored), users.get(stored.getUserId()));
+        assertEquals(fetchedId, users.get(fetchedId).orElseThrow().getUserId());
+        assertEquals(Optional.empty(), users.get(unknownId));
+        assertFalse(users.containsKey(failingId));
+        verify(authUserClient, never()).getOneUserById(stored.getUserId());
+    }
+
+    private static UserDto remoteUser(UUID userId, UserStatus userStatus) {
+        var user = new UserDto();
+        user.setUserId(userId);
+        user.setEmail("user@ead.com");
+        user.setUserStatus(userStatus);
+        user.setUserType(UserType.STUDENT);
+        return user;
+    }
+
+    private static UserModel localUser(LocalDateTime syncDate) {
+        var user = new UserModel();
+        user.setUserId(UUID.randomUUID());
+        user.setEmail("user@ead.com");
+        user.setUserStatus(UserStatus.ACTIVE);
+        user.setUserType(UserType.STUDENT);
+        user.setSyncDate(syncDate);
+        return user;
+    }
+}
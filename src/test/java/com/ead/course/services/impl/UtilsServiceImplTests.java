@@ -0,0 +1,84 @@
+package com.ead.course.services.impl;
+
+import com.ead.course.dtos.KeysetCursorDto;
+import com.ead.course.models.CourseModel;
+import com.ead.course.services.UtilsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UtilsServiceImplTests {
+
+    private static final Map<String, Class<?>> SORTABLE = Map.of(
+            "courseId", UUID.class,
+            "imageUrl", String.class,
+            "creationDate", LocalDateTime.class);
+
+    private final UtilsService utilsService = new UtilsServiceImpl();
+
+    @Test
+    void cursorKeepsANullSortValue() {
+        Pageable pageable = PageRequest.of(0, 1, Sort.by(Sort.Direction.ASC, "imageUrl"));
+        var course = new CourseModel();
+        course.setCourseId(UUID.randomUUID());
+        var slice = new SliceImpl<>(List.of(course), PageRequest.of(0, 1, Sort.by(Sort.Direction.ASC, "imageUrl", "courseId")), true);
+
+        KeysetCursorDto cursor = utilsService.readCursor(utilsService.createCursorPage(slice).getNextCursor(), pageable, SORTABLE);
+
+        assertEquals("imageUrl", cursor.getSortProperty());
+        assertNull(cursor.getSortValue());
+        assertEquals(course.getCourseId(), cursor.getId());
+    }
+
+    @Test
+    void tamperedCursorIsAnIllegalArgument() {
+        Pageable pageable = PageRequest.of(0, 1, Sort.by(Sort.Direction.ASC, "creationDate"));
+        String id = UUID.randomUUID().toString();
+
+        assertThrows(IllegalArgumentException.class, () -> utilsService.readCursor(encode("creationDate", "ASC", "=yesterday", id), pageable, SORTABLE));
+        assertThrows(IllegalArgumentException.class, () -> utilsService.readCursor(encode("creationDate", "ASC", "null", id), pageable, SORTABLE));
+        assertThrows(IllegalArgumentException.class, () -> utilsService.readCursor(encode("version", "ASC", "=1", id), pageable, SORTABLE));
+        assertThrows(IllegalArgumentException.class, () -> utilsService.readCursor(encode("creationDate", "UP", "=2021-09-01T10:15:30", id), pageable, SORTABLE));
+        assertThrows(IllegalArgumentException.class, () -> utilsService.readCursor("not base64!", pageable, SORTABLE));
+        assertThrows(IllegalArgumentException.class, () -> utilsService.readCursor(null, PageRequest.of(0, 1, Sort.by("version")), SORTABLE));
+    }
+
+    private static String encode(String... parts) {
+        return Base64.getUrlEncoder().encodeToString(String.join("\u0000", parts).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void lastUpdateETagIgnoresPrecisionTheDatabaseDrops() {
+        var saved = LocalDateTime.of(2021, 9, 1, 10, 15, 30, 123_456_789);
+        var readBack = LocalDateTime.of(2021, 9, 1, 10, 15, 30, 123_456_000);
+
+        assertEquals(utilsService.createETag(saved), utilsService.createETag(readBack));
+        assertEquals("\"1630491330123456\"", utilsService.createETag(readBack));
+    }
+
+    @Test
+    void ifMatchUsesStrongComparison() {
+        String eTag = utilsService.createETag(3);
+
+        assertTrue(utilsService.matchesIfMatch(null, eTag));
+        assertTrue(utilsService.matchesIfMatch("*", eTag));
+        assertTrue(utilsService.matchesIfMatch("\"2\", \"3\"", eTag));
+        assertFalse(utilsService.matchesIfMatch("\"2\"", eTag));
+        assertFalse(utilsService.matchesIfMatch("W/\"3\"", eTag));
+    }
+}